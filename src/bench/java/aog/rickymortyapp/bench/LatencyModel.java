@@ -0,0 +1,48 @@
+package aog.rickymortyapp.bench;
+
+import java.util.SplittableRandom;
+
+// Distribución de latencia del StandInApiServer. Formatos admitidos:
+//   fixed:50            siempre 50 ms
+//   uniform:20:80       uniforme entre 20 y 80 ms
+//   lognormal:40:0.6    log-normal con mediana 40 ms y sigma 0.6
+@FunctionalInterface
+public interface LatencyModel {
+    long sampleMillis(SplittableRandom random);
+
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.trim().split(":");
+
+        try {
+            switch (parts[0]) {
+                case "fixed" -> {
+                    long millis = Long.parseLong(parts[1]);
+                    return random -> millis;
+                }
+                case "uniform" -> {
+                    long min = Long.parseLong(parts[1]);
+                    long max = Long.parseLong(parts[2]);
+                    return random -> min + random.nextLong(max - min + 1);
+                }
+                case "lognormal" -> {
+                    double median = Double.parseDouble(parts[1]);
+                    double sigma = Double.parseDouble(parts[2]);
+                    return random -> Math.round(median * Math.exp(
+                            sigma * nextGaussian(random)));
+                }
+                default -> {
+                }
+            }
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(
+                    "Invalid latency model: " + spec, ex);
+        }
+        throw new IllegalArgumentException("Invalid latency model: " + spec);
+    }
+
+    private static double nextGaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
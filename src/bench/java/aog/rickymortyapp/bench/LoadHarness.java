@@ -0,0 +1,239 @@
+package aog.rickymortyapp.bench;
+
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.service.ApiService;
+import aog.rickymortyapp.service.CharacterCache;
+import aog.rickymortyapp.metrics.HttpMetrics;
+import aog.rickymortyapp.service.DecodeMode;
+import aog.rickymortyapp.service.JsonReaderMode;
+import aog.rickymortyapp.service.LatencyStats;
+import aog.rickymortyapp.service.RequestGovernor;
+import aog.rickymortyapp.service.ResilienceStats;
+import aog.rickymortyapp.service.RetryPolicy;
+import aog.rickymortyapp.service.TransportMode;
+import aog.rickymortyapp.viewModel.CharacterLoadStrategy;
+import aog.rickymortyapp.viewModel.ExecutionMode;
+import aog.rickymortyapp.viewModel.RickAndMortyViewModel;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Ejecuta RickAndMortyViewModel.loadData() completo, sin interfaz, contra
+// un StandInApiServer local y muestra una línea de resultados por carga.
+//
+//   --mode platform|virtual     hilos del cargador (por defecto platform)
+//   --batch on|off              peticiones multi-id (por defecto on)
+//   --decode streaming|string   decodificación JSON (por defecto streaming)
+//   --json generated|databind   lectores del modelo (por defecto generated)
+//   --transport default|tuned   ver TransportMode (por defecto default)
+//   --characters auto|catalog|references  ver CharacterLoadStrategy
+//   --hedge on|off              peticiones duplicadas (por defecto on)
+//   --latency fixed:20          ver LatencyModel
+//   --throttle 0.02             fracción de respuestas 429
+//   --errors 0.01               fracción de respuestas 500
+//   --retry-after 1             segundos de Retry-After en los 429
+//   --rate 10                   peticiones/s iniciales del RequestGovernor
+//   --seed 1                    semilla del servidor
+//   --compare                   lanza una JVM por modo y batch on/off
+//   --compare-transport         lanza una JVM por transporte
+//   --compare-hedge             lanza una JVM con y otra sin duplicadas
+//   --verbose                   muestra los mensajes de estado
+//
+// Cada carga corre en su propia JVM con --compare, así que los hilos pico y
+// la memoria residual máxima (VmHWM) son comparables entre estrategias.
+public class LoadHarness {
+    private static final long TIMEOUT_MINUTES = 10;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        if (options.containsKey("compare")) {
+            compare(args, "--mode", List.of("platform", "virtual"), 
+                    "--batch", List.of("on", "off"));
+            return;
+        }
+        if (options.containsKey("compare-transport")) {
+            compare(args, "--transport", List.of("default", "tuned"), 
+                    null, List.of(""));
+            return;
+        }
+        if (options.containsKey("compare-hedge")) {
+            compare(args, "--hedge", List.of("off", "on"), null, List.of(""));
+            return;
+        }
+        System.exit(run(options) ? 0 : 1);
+    }
+
+    private static boolean run(Map<String, String> options) throws Exception {
+        System.setProperty(ExecutionMode.PROPERTY,
+                options.getOrDefault("mode", "platform"));
+        System.setProperty(DecodeMode.PROPERTY,
+                options.getOrDefault("decode", "streaming"));
+        System.setProperty(JsonReaderMode.PROPERTY,
+                options.getOrDefault("json", "generated"));
+        System.setProperty(CharacterLoadStrategy.PROPERTY,
+                options.getOrDefault("characters", "auto"));
+        ExecutionMode mode = ExecutionMode.fromSystemProperty();
+        TransportMode transport = TransportMode.valueOf(options.getOrDefault(
+                "transport", "default").toUpperCase());
+        boolean batch = !"off".equals(options.get("batch"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "10"));
+        StandInApiServer.Config config = new StandInApiServer.Config(
+                LatencyModel.parse(options.getOrDefault("latency", "fixed:20")),
+                Double.parseDouble(options.getOrDefault("throttle", "0")),
+                Integer.parseInt(options.getOrDefault("retry-after", "1")),
+                Double.parseDouble(options.getOrDefault("errors", "0")),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        try (StandInApiServer server = new StandInApiServer(config).start()) {
+            ApiService apiService = new ApiService(server.baseUrl(),
+                    new CharacterCache(CharacterCache.DEFAULT_MAX_ENTRIES),
+                    mode.newServiceExecutor(), RetryPolicy.defaults(),
+                    new RequestGovernor(rate, 0.5, Math.max(rate, 50), 6, 1,
+                            32), transport);
+            apiService.setBatchFetching(batch);
+            apiService.setHedging(!"off".equals(options.get("hedge")));
+            RickAndMortyViewModel viewModel =
+                    new RickAndMortyViewModel(mode, apiService);
+            viewModel.setSnapshotEnabled(false);
+            CountDownLatch done = new CountDownLatch(1);
+            AtomicBoolean success = new AtomicBoolean();
+            viewModel.setOnLoadingComplete(ok -> {
+                success.set(ok);
+                done.countDown();
+            });
+
+            if (!options.containsKey("verbose")) {
+                viewModel.getProgressBus().setLog(null);
+            }
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+            viewModel.loadData();
+            boolean finished = done.await(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            long wallMillis = (System.nanoTime() - start) / 1_000_000;
+            int episodes = 0;
+
+            for (List<Episode> season : viewModel.getSeasonEpisodes().values()) {
+                episodes += season.size();
+            }
+            LatencyStats latency = apiService.getRequestLatencyStats();
+            HttpMetrics http = apiService.getHttpMetrics();
+            ResilienceStats resilience = apiService.getResilienceStats();
+            System.out.printf("RESULT mode=%s batch=%s decode=%s json=%s " +
+                    "characters=%s transport=%s hedge=%s wall=%d ms " +
+                    "episodes=%d characters=%d " +
+                    "requests=%d serverRequests=%d connections=%d " +
+                    "wireBytes=%d decodedBytes=%d h2=%d readerFallbacks=%d " +
+                    "429s=%d 500s=%d " +
+                    "retries=%d hedges=%d hedgeWins=%d circuit=%s " +
+                    "circuitRejected=%d p50=%.1f ms p99=%.1f ms " +
+                    "peakThreads=%d maxRss=%d KiB%s%n",
+                    mode, batch ? "on" : "off",
+                    System.getProperty(DecodeMode.PROPERTY), 
+                    System.getProperty(JsonReaderMode.PROPERTY),
+                    System.getProperty(CharacterLoadStrategy.PROPERTY),
+                    transport.name().toLowerCase(), 
+                    options.getOrDefault("hedge", "on"), wallMillis,
+                    episodes, viewModel.findCharacters(null, null, null).size(),
+                    latency.count(), server.requests(), server.connections(),
+                    http.wireBytes(), http.decodedBytes(), 
+                    http.http2Responses(), http.readerFallbacks(), 
+                    server.throttled(),
+                    server.errors(), apiService.getRetryCount(),
+                    resilience.hedges(), resilience.hedgeWins(), 
+                    resilience.circuitState(), resilience.circuitRejections(),
+                    latency.p50Nanos() / 1e6, latency.p99Nanos() / 1e6,
+                    threads.getPeakThreadCount(), maxResidentKib(),
+                    finished ? "" : " TIMEOUT");
+            viewModel.shutdown();
+            return finished && success.get();
+        }
+    }
+
+    // Una JVM por combinación de valores de las dos opciones; second puede
+    // ser null para variar solo la primera.
+    private static void compare(String[] args, String first, 
+            List<String> firstValues, String second, 
+            List<String> secondValues) throws IOException, 
+            InterruptedException {
+        List<String> base = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--compare") || 
+                    args[i].equals("--compare-transport") ||
+                    args[i].equals("--compare-hedge")) {
+                continue;
+            }
+            if (args[i].equals(first) || args[i].equals(second)) {
+                i++;
+                continue;
+            }
+            base.add(args[i]);
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java")
+                .toString();
+
+        for (String firstValue : firstValues) {
+            for (String secondValue : secondValues) {
+                List<String> command = new ArrayList<>(List.of(java, "-cp",
+                        System.getProperty("java.class.path"),
+                        LoadHarness.class.getName(), first, firstValue));
+
+                if (second != null) {
+                    command.add(second);
+                    command.add(secondValue);
+                }
+                command.addAll(base);
+                new ProcessBuilder(command).inheritIO().start().waitFor();
+            }
+        }
+    }
+
+    // Pico de memoria residual del proceso; -1 fuera de Linux.
+    private static long maxResidentKib() {
+        try {
+            for (String line : Files.readAllLines(
+                    Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException(
+                        "Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+
+            if (name.equals("compare") || name.equals("compare-transport") ||
+                    name.equals("compare-hedge") || name.equals("verbose")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException(
+                        "Missing value for " + args[i]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,328 @@
+package aog.rickymortyapp.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+// Servidor local que imita la API de Rick and Morty a partir de las
+// fixtures: /episode?page=N, /character?page=N, /character/{id} y
+// /character/{id,id,...}.
+// Permite simular latencia, respuestas 429 y errores 500 para medir la
+// carga completa sin depender de la red. Comprime con gzip si el cliente lo
+// pide y cuenta los bytes de cuerpo enviados y las conexiones abiertas.
+// Solo habla HTTP/1.1: un cliente HTTP/2 en claro cae a HTTP/1.1 contra él.
+public class StandInApiServer implements AutoCloseable {
+    private static final String UPSTREAM_BASE_URL =
+            "https://rickandmortyapi.com/api";
+    private static final int MIN_COMPRESSED_BYTES = 256;
+    private static final int CHARACTER_PAGE_SIZE = 20;
+
+    public record Config(
+        LatencyModel latency,
+        double throttleRate,
+        int retryAfterSeconds,
+        double errorRate,
+        long seed
+    ) {
+        public static Config fast() {
+            return new Config(LatencyModel.parse("fixed:0"), 0, 1, 0, 1);
+        }
+    }
+
+    private final Config config;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final Map<Integer, String> episodePages = new HashMap<>();
+    private final Map<Integer, JsonNode> characters = new TreeMap<>();
+    private final Map<Integer, String> characterPages = new HashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom seeds;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder characterLookups = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+
+    public StandInApiServer(Config config) throws IOException {
+        this.config = config;
+        this.seeds = new SplittableRandom(config.seed());
+        this.server = HttpServer.create(
+                new InetSocketAddress("127.0.0.1", 0), 0);
+        this.baseUrl = "http://127.0.0.1:" +
+                server.getAddress().getPort() + "/api";
+
+        for (int page = 1; page <= Fixtures.EPISODE_PAGES; page++) {
+            episodePages.put(page, rewrite(Fixtures.episodePage(page)));
+        }
+        for (JsonNode character : objectMapper.readTree(
+                rewrite(Fixtures.characters()))) {
+            characters.put(character.get("id").asInt(), character);
+        }
+        buildCharacterPages();
+        // La latencia simulada duerme el hilo: uno virtual por petición.
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/episode", this::handleEpisodes);
+        server.createContext("/api/character/", this::handleCharacters);
+        server.createContext("/api/character", this::handleCharacterPages);
+    }
+
+    public StandInApiServer start() {
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long characterLookups() {
+        return characterLookups.sum();
+    }
+
+    public long bytesSent() {
+        return bytesSent.sum();
+    }
+
+    // Cada conexión TCP llega desde un puerto local distinto del cliente.
+    public int connections() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleEpisodes(HttpExchange exchange) throws IOException {
+        if (!admit(exchange)) {
+            return;
+        }
+        String page = queryParameter(exchange.getRequestURI(), "page");
+        String body = episodePages.get(page == null ? 1 : parseInt(page));
+
+        if (body == null) {
+            send(exchange, 404, "{\"error\":\"There is nothing here\"}");
+            return;
+        }
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+
+        if (etag.equals(exchange.getRequestHeaders()
+                .getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    private void handleCharacterPages(HttpExchange exchange) 
+            throws IOException {
+        if (!admit(exchange)) {
+            return;
+        }
+        String page = queryParameter(exchange.getRequestURI(), "page");
+        String body = characterPages.get(page == null ? 1 : parseInt(page));
+
+        if (body == null) {
+            send(exchange, 404, "{\"error\":\"There is nothing here\"}");
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    // Mismo formato que la API: páginas de 20 ordenadas por id con Info.
+    private void buildCharacterPages() {
+        List<JsonNode> all = new ArrayList<>(characters.values());
+        int pages = Math.max(1, 
+                (all.size() + CHARACTER_PAGE_SIZE - 1) / CHARACTER_PAGE_SIZE);
+
+        for (int page = 1; page <= pages; page++) {
+            ObjectNode root = objectMapper.createObjectNode();
+            ObjectNode info = root.putObject("info");
+            info.put("count", all.size());
+            info.put("pages", pages);
+            info.put("next", page < pages 
+                    ? baseUrl + "/character?page=" + (page + 1) : null);
+            info.put("prev", page > 1 
+                    ? baseUrl + "/character?page=" + (page - 1) : null);
+            ArrayNode results = root.putArray("results");
+            
+            for (int i = (page - 1) * CHARACTER_PAGE_SIZE; 
+                    i < Math.min(all.size(), page * CHARACTER_PAGE_SIZE); i++) {
+                results.add(all.get(i));
+            }
+            characterPages.put(page, root.toString());
+        }
+    }
+
+    private void handleCharacters(HttpExchange exchange) throws IOException {
+        if (!admit(exchange)) {
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        String ids = path.substring(path.lastIndexOf('/') + 1);
+
+        if (!ids.contains(",")) {
+            JsonNode character = characters.get(parseInt(ids));
+            characterLookups.increment();
+
+            if (character == null) {
+                send(exchange, 404, "{\"error\":\"Character not found\"}");
+            } else {
+                send(exchange, 200, character.toString());
+            }
+            return;
+        }
+        ArrayNode result = objectMapper.createArrayNode();
+
+        for (String id : ids.split(",")) {
+            JsonNode character = characters.get(parseInt(id));
+            characterLookups.increment();
+
+            if (character != null) {
+                result.add(character);
+            }
+        }
+        send(exchange, 200, result.toString());
+    }
+
+    // Aplica la latencia y decide si la petición recibe un 429 o un 500.
+    private boolean admit(HttpExchange exchange) throws IOException {
+        requests.increment();
+        connections.add(String.valueOf(exchange.getRemoteAddress()));
+        SplittableRandom random;
+
+        synchronized (seeds) {
+            random = seeds.split();
+        }
+        try {
+            long millis = config.latency().sampleMillis(random);
+
+            if (millis > 0) {
+                Thread.sleep(millis);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return false;
+        }
+        double roll = random.nextDouble();
+
+        if (roll < config.throttleRate()) {
+            throttled.increment();
+            exchange.getResponseHeaders().set("Retry-After",
+                    String.valueOf(config.retryAfterSeconds()));
+            send(exchange, 429, "{\"error\":\"Too many requests\"}");
+            return false;
+        }
+        if (roll < config.throttleRate() + config.errorRate()) {
+            errors.increment();
+            send(exchange, 500, "{\"error\":\"Internal server error\"}");
+            return false;
+        }
+        return true;
+    }
+
+    private void send(HttpExchange exchange, int status, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type",
+                "application/json; charset=utf-8");
+
+        if (bytes.length >= MIN_COMPRESSED_BYTES && acceptsGzip(exchange)) {
+            bytes = gzip(bytes);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        bytesSent.add(bytes.length);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String accepted = exchange.getRequestHeaders()
+                .getFirst("Accept-Encoding");
+        return accepted != null && accepted.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                bytes.length / 4);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return pair.substring(separator + 1);
+            }
+        }
+        return null;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    // Las fixtures apuntan a la API real; se reescriben para que las URLs
+    // de personajes y episodios lleguen a este servidor.
+    private String rewrite(byte[] fixture) {
+        return new String(fixture, StandardCharsets.UTF_8)
+                .replace(UPSTREAM_BASE_URL, baseUrl);
+    }
+}
@@ -0,0 +1,156 @@
+package aog.rickymortyapp.model;
+
+import aog.rickymortyapp.bench.Fixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// Memoria retenida por los personajes cargados:
+//  - records: los Charac tal como salen del decodificador JSON, más una
+//    lista por episodio (lo que se guardaba antes de la CharacterTable),
+//  - table: la CharacterTable más un int[] de ids por episodio,
+//  - table+views: lo anterior tras leer todos los Charac de una vista por
+//    episodio; las URLs de episodio se construyen en cada lectura y no
+//    deben quedar retenidas.
+// Los 183 personajes de las fixtures se replican con ids nuevos hasta el
+// tamaño de la API real (826, o el primer argumento). Cada medida es el
+// heap usado tras varios GC antes y después de construir la estructura;
+// exec@footprint fija SerialGC para que la cifra sea estable.
+//
+//   mvn -Pbench test-compile exec:exec@footprint
+public class CharacterTableFootprint {
+    private static final int UPSTREAM_CHARACTERS = 826;
+    private static final int GC_ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] json;
+
+    CharacterTableFootprint(int characters) throws Exception {
+        this.json = replicate(characters);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int characters = args.length > 0
+                ? Integer.parseInt(args[0]) : UPSTREAM_CHARACTERS;
+        CharacterTableFootprint footprint =
+                new CharacterTableFootprint(characters);
+
+        System.out.printf("%d personajes%n", characters);
+        measure("records", footprint::records);
+        measure("table", footprint::table);
+        measure("table+views", footprint::tableWithViews);
+    }
+
+    private Object records() throws Exception {
+        Charac[] characters = objectMapper.readValue(json, Charac[].class);
+        Map<Integer, List<Charac>> byEpisode = new HashMap<>();
+
+        for (Charac character : characters) {
+            for (int episodeId : episodeIdsOf(character)) {
+                byEpisode.computeIfAbsent(episodeId,
+                        k -> new ArrayList<>()).add(character);
+            }
+        }
+        return byEpisode;
+    }
+
+    private Object table() throws Exception {
+        return buildTable(objectMapper.readValue(json, Charac[].class));
+    }
+
+    private Object tableWithViews() throws Exception {
+        TableWithEpisodes loaded = buildTable(
+                objectMapper.readValue(json, Charac[].class));
+        List<List<Charac>> views = new ArrayList<>();
+
+        for (int[] ids : loaded.byEpisode().values()) {
+            List<Charac> view = loaded.table().viewOf(ids);
+            view.forEach(character -> character.episode());
+            views.add(view);
+        }
+        return List.of(loaded, views);
+    }
+
+    private record TableWithEpisodes(CharacterTable table,
+            Map<Integer, int[]> byEpisode) {
+    }
+
+    private static TableWithEpisodes buildTable(Charac[] characters) {
+        CharacterTable table = new CharacterTable();
+        Map<Integer, List<Integer>> ids = new HashMap<>();
+
+        for (Charac character : characters) {
+            table.add(character);
+
+            for (int episodeId : episodeIdsOf(character)) {
+                ids.computeIfAbsent(episodeId,
+                        k -> new ArrayList<>()).add(character.id());
+            }
+        }
+        Map<Integer, int[]> byEpisode = new HashMap<>();
+        ids.forEach((episodeId, list) -> byEpisode.put(episodeId,
+                list.stream().mapToInt(Integer::intValue).toArray()));
+        return new TableWithEpisodes(table, byEpisode);
+    }
+
+    private static int[] episodeIdsOf(Charac character) {
+        return character.episode() == null ? new int[0]
+                : Arrays.stream(character.episode())
+                    .mapToInt(ResourceIds::parse)
+                    .filter(id -> id > 0)
+                    .toArray();
+    }
+
+    // Las copias llevan id nuevo y un sufijo en el nombre para que no
+    // compartan cadenas con el original.
+    private byte[] replicate(int count) throws Exception {
+        JsonNode fixtures = objectMapper.readTree(Fixtures.characters());
+        ArrayNode result = objectMapper.createArrayNode();
+
+        for (int i = 0; i < count; i++) {
+            ObjectNode copy = (ObjectNode) fixtures.get(i % fixtures.size())
+                    .deepCopy();
+            int round = i / fixtures.size();
+            copy.put("id", i + 1);
+
+            if (round > 0) {
+                copy.put("name", copy.get("name").asText() + " " + round);
+            }
+            result.add(copy);
+        }
+        return objectMapper.writeValueAsBytes(result);
+    }
+
+    private static void measure(String name, Callable<Object> build)
+            throws Exception {
+        long before = usedAfterGc();
+        Object retained = build.call();
+        long after = usedAfterGc();
+
+        System.out.printf("%-12s %,10d bytes retenidos%n", name,
+                after - before);
+        Reference.reachabilityFence(retained);
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(20);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,209 @@
+package aog.rickymortyapp.model;
+
+import aog.rickymortyapp.bench.Fixtures;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// CoAppearanceMatrix frente al recorrido de las listas de personajes por
+// episodio (lo que había que hacer antes). "fixtures" son los 51 episodios
+// y 183 personajes de las fixtures; "upstream" imita el tamaño de la API
+// real (826 personajes, 51 episodios, un reparto fijo en casi todos).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoAppearanceBenchmark {
+    private static final int TOP = 10;
+
+    @Param({"fixtures", "upstream"})
+    public String dataset;
+
+    private Map<Integer, List<Integer>> episodeCharacters;
+    private CoAppearanceMatrix matrix;
+    private int mainCharacter;
+    private int otherCharacter;
+
+    @Setup
+    public void setUp() throws IOException {
+        episodeCharacters = dataset.equals("fixtures") 
+                ? fromFixtures() : synthetic(826, 51, 1);
+        matrix = build(episodeCharacters);
+        // El personaje con más episodios y el siguiente.
+        List<Integer> byAppearances = new ArrayList<>();
+        episodeCharacters.values().forEach(byAppearances::addAll);
+        Map<Integer, Integer> counts = new HashMap<>();
+        byAppearances.forEach(id -> counts.merge(id, 1, Integer::sum));
+        List<Integer> ranked = new ArrayList<>(counts.keySet());
+        ranked.sort(Comparator.comparing(counts::get).reversed());
+        mainCharacter = ranked.get(0);
+        otherCharacter = ranked.get(1);
+    }
+
+    @Benchmark
+    public CoAppearanceMatrix buildMatrix() {
+        return build(episodeCharacters);
+    }
+
+    @Benchmark
+    public List<CoAppearance> topCoStarsMatrix() {
+        return matrix.topCoStars(mainCharacter, TOP);
+    }
+
+    @Benchmark
+    public List<CoAppearance> topCoStarsListScan() {
+        Map<Integer, Integer> shared = new HashMap<>();
+
+        for (List<Integer> characters : episodeCharacters.values()) {
+            if (!characters.contains(mainCharacter)) {
+                continue;
+            }
+            for (Integer other : characters) {
+                if (other != mainCharacter) {
+                    shared.merge(other, 1, Integer::sum);
+                }
+            }
+        }
+        List<CoAppearance> result = new ArrayList<>();
+        shared.forEach((other, count) -> 
+                result.add(new CoAppearance(mainCharacter, other, count)));
+        result.sort(Comparator.comparingInt(CoAppearance::sharedEpisodes)
+                .reversed().thenComparingInt(CoAppearance::otherId));
+        return result.subList(0, Math.min(TOP, result.size()));
+    }
+
+    @Benchmark
+    public int[] sharedEpisodesMatrix() {
+        return matrix.sharedEpisodes(mainCharacter, otherCharacter);
+    }
+
+    @Benchmark
+    public List<Integer> sharedEpisodesListScan() {
+        List<Integer> result = new ArrayList<>();
+
+        for (Map.Entry<Integer, List<Integer>> entry : 
+                episodeCharacters.entrySet()) {
+            if (entry.getValue().contains(mainCharacter) && 
+                    entry.getValue().contains(otherCharacter)) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CoAppearance> topPairsMatrix() {
+        return matrix.topPairs(TOP);
+    }
+
+    // La versión de listas ya cuenta por pares dentro de cada episodio, no
+    // compara todos los personajes entre sí.
+    @Benchmark
+    public List<CoAppearance> topPairsListScan() {
+        Map<Long, Integer> shared = new HashMap<>();
+
+        for (List<Integer> characters : episodeCharacters.values()) {
+            for (int i = 0; i < characters.size(); i++) {
+                for (int j = i + 1; j < characters.size(); j++) {
+                    int a = Math.min(characters.get(i), characters.get(j));
+                    int b = Math.max(characters.get(i), characters.get(j));
+                    shared.merge((long) a << 32 | b, 1, Integer::sum);
+                }
+            }
+        }
+        List<CoAppearance> result = new ArrayList<>(shared.size());
+        shared.forEach((key, count) -> result.add(new CoAppearance(
+                (int) (key >>> 32), (int) (long) key, count)));
+        result.sort(Comparator.comparingInt(CoAppearance::sharedEpisodes)
+                .reversed());
+        return result.subList(0, Math.min(TOP, result.size()));
+    }
+
+    @Benchmark
+    public int[][] allPairCountsMatrix() {
+        return matrix.coOccurrenceCounts();
+    }
+
+    private static CoAppearanceMatrix build(
+            Map<Integer, List<Integer>> episodeCharacters) {
+        CoAppearanceMatrix result = new CoAppearanceMatrix();
+        episodeCharacters.forEach((episodeId, characters) -> 
+                result.addEpisode(episodeId, characters.stream()
+                        .mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    private static Map<Integer, List<Integer>> fromFixtures() 
+            throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<Integer, List<Integer>> result = new LinkedHashMap<>();
+
+        for (int page = 1; page <= Fixtures.EPISODE_PAGES; page++) {
+            PaginatedResponse<Episode> response = objectMapper.readValue(
+                    Fixtures.episodePage(page),
+                    new TypeReference<PaginatedResponse<Episode>>() {});
+
+            for (Episode episode : response.results()) {
+                List<Integer> ids = new ArrayList<>();
+
+                for (String url : episode.characters()) {
+                    ids.add(ResourceIds.parse(url));
+                }
+                result.put(episode.id(), ids);
+            }
+        }
+        return result;
+    }
+
+    // Un reparto de 5 personajes en casi todos los episodios, algunos
+    // secundarios recurrentes y el resto de apariciones únicas.
+    private static Map<Integer, List<Integer>> synthetic(int characters, 
+            int episodes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Integer, List<Integer>> result = new LinkedHashMap<>();
+        int nextSingle = 60;
+
+        for (int episode = 1; episode <= episodes; episode++) {
+            List<Integer> ids = new ArrayList<>();
+
+            for (int id = 1; id <= 5; id++) {
+                if (random.nextDouble() < 0.9) {
+                    ids.add(id);
+                }
+            }
+            for (int id = 6; id < 60; id++) {
+                if (random.nextDouble() < 0.1) {
+                    ids.add(id);
+                }
+            }
+            int singles = (characters - 60) / episodes;
+
+            for (int i = 0; i < singles && nextSingle <= characters; i++) {
+                ids.add(nextSingle++);
+            }
+            result.put(episode, ids);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.bench.Fixtures;
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.PaginatedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Deserialización de las respuestas de la API con los mismos lectores que
+// ApiService (generados o ObjectMapper, según json), y comparación entre
+// leer el cuerpo como String y leerlo del InputStream que entrega
+// JsonBodyHandlers.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonDecodeBenchmark {
+    @Param({"generated", "databind"})
+    private String json;
+
+    private ResponseReader<PaginatedResponse<Episode>> episodePageReader;
+    private ResponseReader<Charac> characterReader;
+    private ResponseReader<Charac[]> characterArrayReader;
+    private byte[] episodePage;
+    private byte[] character;
+    private byte[] characters;
+
+    @Setup
+    public void setUp() {
+        boolean useGenerated = "generated".equals(json);
+        ModelReaders readers = new ModelReaders(new ObjectMapper(), 
+                () -> useGenerated, () -> { });
+        episodePageReader = readers.episodePage;
+        characterReader = readers.character;
+        characterArrayReader = readers.characterArray;
+        episodePage = Fixtures.episodePage(1);
+        character = Fixtures.character();
+        characters = Fixtures.characters();
+    }
+
+    @Benchmark
+    public PaginatedResponse<Episode> episodePageFromString() throws Exception {
+        return episodePageReader.read(
+                new String(episodePage, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public PaginatedResponse<Episode> episodePageStreaming() throws Exception {
+        return episodePageReader.read(new ByteArrayInputStream(episodePage));
+    }
+
+    @Benchmark
+    public Charac characterFromString() throws Exception {
+        return characterReader.read(
+                new String(character, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Charac characterStreaming() throws Exception {
+        return characterReader.read(new ByteArrayInputStream(character));
+    }
+
+    @Benchmark
+    public Charac[] characterArrayFromString() throws Exception {
+        return characterArrayReader.read(
+                new String(characters, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Charac[] characterArrayStreaming() throws Exception {
+        return characterArrayReader.read(
+                new ByteArrayInputStream(characters));
+    }
+}
@@ -0,0 +1,117 @@
+package aog.rickymortyapp.viewModel;
+
+import aog.rickymortyapp.bench.Fixtures;
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.PaginatedResponse;
+import aog.rickymortyapp.model.ResourceIds;
+import aog.rickymortyapp.service.Snapshot;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Caminos calientes del ViewModel con los datos de las fixtures cargados
+// como si vinieran de la instantánea: agrupación por temporada, copia de
+// getSeasonEpisodes() y consulta de personajes por episodio.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ViewModelBenchmark {
+    private RickAndMortyViewModel viewModel;
+    private List<Episode> episodes;
+    private int[] episodeIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        episodes = new ArrayList<>();
+
+        for (int page = 1; page <= Fixtures.EPISODE_PAGES; page++) {
+            PaginatedResponse<Episode> response = objectMapper.readValue(
+                    Fixtures.episodePage(page),
+                    new TypeReference<PaginatedResponse<Episode>>() {});
+            episodes.addAll(Arrays.asList(response.results()));
+        }
+        Map<Integer, Charac> charactersById = new HashMap<>();
+
+        for (Charac character : objectMapper.readValue(
+                Fixtures.characters(), Charac[].class)) {
+            charactersById.put(character.id(), character);
+        }
+        Map<Integer, List<Charac>> episodeCharacters = new HashMap<>();
+
+        for (Episode episode : episodes) {
+            List<Charac> characters = new ArrayList<>();
+
+            for (String url : episode.characters()) {
+                Charac character = charactersById.get(ResourceIds.parse(url));
+
+                if (character != null) {
+                    characters.add(character);
+                }
+            }
+            episodeCharacters.put(episode.id(), characters);
+        }
+        viewModel = new RickAndMortyViewModel(ExecutionMode.PLATFORM_THREADS);
+        viewModel.setSnapshotEnabled(false);
+        viewModel.applySnapshot(new Snapshot(System.currentTimeMillis(),
+                episodes.size(), null, List.copyOf(episodes),
+                episodeCharacters));
+        episodeIds = episodes.stream().mapToInt(Episode::id).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        viewModel.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, List<Episode>> groupBySeason() {
+        return RickAndMortyViewModel.groupBySeason(episodes);
+    }
+
+    @Benchmark
+    public void extractSeason(Blackhole blackhole) {
+        for (Episode episode : episodes) {
+            blackhole.consume(RickAndMortyViewModel.extractSeasonFromEpisode(
+                    episode.episode()));
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<Episode>> getSeasonEpisodes() {
+        return viewModel.getSeasonEpisodes();
+    }
+
+    // Lo que hace DataView al seleccionar un episodio: obtener la lista y
+    // recorrerla para llenar el modelo.
+    @Benchmark
+    public void getEpisodeCharacters(Blackhole blackhole) {
+        for (int episodeId : episodeIds) {
+            for (Charac character : viewModel.getEpisodeCharacters(episodeId)) {
+                blackhole.consume(character);
+            }
+        }
+    }
+}
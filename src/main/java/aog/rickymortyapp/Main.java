@@ -1,5 +1,6 @@
 package aog.rickymortyapp;
 
+import aog.rickymortyapp.cli.HeadlessExporter;
 import aog.rickymortyapp.view.StartView;
 import aog.rickymortyapp.viewModel.RickAndMortyViewModel;
 import javax.swing.SwingUtilities;
@@ -8,6 +9,12 @@ import javax.swing.UnsupportedLookAndFeelException;
 
 public class Main {
     public static void main(String[] args) {
+        // El modo exportación no debe tocar AWT: se decide antes de cargar
+        // cualquier clase de Swing.
+        if (HeadlessExporter.isRequested(args)) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(HeadlessExporter.run(args));
+        }
         SwingUtilities.invokeLater(() -> {
             
             try {
@@ -0,0 +1,71 @@
+package aog.rickymortyapp.cli;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// Una fila por relación episodio-personaje (RFC 4180). Los episodios sin
+// personajes aparecen en una fila con las columnas de personaje vacías.
+class CsvEpisodeWriter implements EpisodeWriter {
+    private static final String HEADER = "episode_id,episode_code," +
+            "episode_name,air_date,character_id,character_name,status," +
+            "species,gender,image";
+
+    private final Writer out;
+
+    CsvEpisodeWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(Episode episode, List<Charac> characters) 
+            throws IOException {
+        StringBuilder rows = new StringBuilder(128 * 
+                Math.max(1, characters.size()));
+
+        if (characters.isEmpty()) {
+            appendEpisode(rows, episode);
+            rows.append(",,,,,,\r\n");
+        }
+        for (Charac character : characters) {
+            appendEpisode(rows, episode);
+            rows.append(',').append(character.id()).append(',');
+            appendField(rows, character.name()).append(',');
+            appendField(rows, character.status()).append(',');
+            appendField(rows, character.species()).append(',');
+            appendField(rows, character.gender()).append(',');
+            appendField(rows, character.image()).append("\r\n");
+        }
+        out.append(rows);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static void appendEpisode(StringBuilder rows, Episode episode) {
+        rows.append(episode.id()).append(',');
+        appendField(rows, episode.episode()).append(',');
+        appendField(rows, episode.name()).append(',');
+        appendField(rows, episode.air_date());
+    }
+
+    private static StringBuilder appendField(StringBuilder rows, 
+            String value) {
+        if (value == null) {
+            return rows;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && 
+                value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return rows.append(value);
+        }
+        return rows.append('"').append(value.replace("\"", "\"\""))
+                .append('"');
+    }
+}
@@ -0,0 +1,13 @@
+package aog.rickymortyapp.cli;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+// Escribe cada episodio con sus personajes en cuanto se carga; nada se
+// acumula entre llamadas salvo el buffer del Writer.
+interface EpisodeWriter extends Closeable {
+    void write(Episode episode, List<Charac> characters) throws IOException;
+}
@@ -0,0 +1,25 @@
+package aog.rickymortyapp.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public enum ExportFormat {
+    JSONL,
+    CSV;
+
+    public static ExportFormat parse(String value) {
+        return switch (value.trim().toLowerCase()) {
+            case "jsonl", "json" -> JSONL;
+            case "csv" -> CSV;
+            default -> throw new IllegalArgumentException(
+                    "Unknown export format: " + value);
+        };
+    }
+
+    EpisodeWriter open(Writer out) throws IOException {
+        return switch (this) {
+            case JSONL -> new JsonLinesEpisodeWriter(out);
+            case CSV -> new CsvEpisodeWriter(out);
+        };
+    }
+}
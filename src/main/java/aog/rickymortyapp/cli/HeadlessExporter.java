@@ -0,0 +1,196 @@
+package aog.rickymortyapp.cli;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.viewModel.CharacterLoadStrategy;
+import aog.rickymortyapp.viewModel.ExecutionMode;
+import aog.rickymortyapp.viewModel.RickAndMortyViewModel;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Modo sin interfaz: recorre todos los episodios y escribe cada uno con sus
+// personajes en cuanto termina de cargarse, sin pasar por AWT/Swing.
+//
+//   --headless                  activa este modo (lo comprueba Main)
+//   --output PATH|-             fichero de salida; "-" es la salida estándar
+//                               (por defecto)
+//   --format jsonl|csv          formato de salida (por defecto jsonl)
+//   --concurrency N             episodios cargándose a la vez (por defecto 8)
+//   --mode platform|virtual     hilos del cargador
+//
+// El ViewModel no retiene los personajes (setRetainResults(false)): cada
+// episodio se escribe y se suelta, así que la memoria pico no depende del
+// número de episodios. Los personajes se piden siempre por referencia: el
+// escaneo del catálogo no escribiría nada hasta tener el catálogo entero,
+// y así los episodios se escriben mientras siguen llegando páginas. Los
+// mensajes de progreso van a la salida de error para no mezclarse con los
+// datos.
+public class HeadlessExporter {
+    private static final int DEFAULT_CONCURRENCY = 8;
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if ("--headless".equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int run(String[] args) {
+        Map<String, String> options;
+        ExportFormat format;
+        int concurrency;
+
+        try {
+            options = parse(args);
+            format = ExportFormat.parse(options.getOrDefault("format", 
+                    "jsonl"));
+            concurrency = Integer.parseInt(options.getOrDefault(
+                    "concurrency", String.valueOf(DEFAULT_CONCURRENCY)));
+
+            if (concurrency <= 0) {
+                throw new IllegalArgumentException(
+                        "--concurrency must be positive: " + concurrency);
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("Usage: --headless [--output PATH|-] " + 
+                    "[--format jsonl|csv] [--concurrency N] " + 
+                    "[--mode platform|virtual]");
+            return 2;
+        }
+        if (options.containsKey("mode")) {
+            System.setProperty(ExecutionMode.PROPERTY, options.get("mode"));
+        }
+        String output = options.getOrDefault("output", "-");
+
+        try (EpisodeWriter writer = format.open(new BufferedWriter(
+                new OutputStreamWriter(open(output), 
+                        StandardCharsets.UTF_8)))) {
+            return export(writer, concurrency) ? 0 : 1;
+        } catch (IOException | UncheckedIOException ex) {
+            System.err.println("Error writing export to " + output + ": " + 
+                    ex.getMessage());
+            return 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    private static boolean export(EpisodeWriter writer, int concurrency) 
+            throws InterruptedException {
+        RickAndMortyViewModel viewModel = new RickAndMortyViewModel();
+        viewModel.setSnapshotEnabled(false);
+        viewModel.setRetainResults(false);
+        viewModel.setCharacterLoadStrategy(
+                CharacterLoadStrategy.BY_REFERENCE);
+        viewModel.setEpisodeParallelism(concurrency);
+        viewModel.getProgressBus().setLog(System.err);
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean success = new AtomicBoolean();
+        AtomicBoolean writeFailed = new AtomicBoolean();
+        AtomicInteger episodes = new AtomicInteger();
+        AtomicLong edges = new AtomicLong();
+        long start = System.nanoTime();
+
+        viewModel.setOnEpisodeCharactersLoaded((episode, characters) -> {
+            if (writeFailed.get()) {
+                return;
+            }
+            try {
+                write(writer, episode, characters);
+                episodes.incrementAndGet();
+                edges.addAndGet(characters.size());
+            } catch (IOException ex) {
+                // Sin destino no tiene sentido seguir cargando.
+                if (writeFailed.compareAndSet(false, true)) {
+                    System.err.println("Error writing export: " + 
+                            ex.getMessage());
+                    viewModel.cancelLoading();
+                }
+            }
+        });
+        viewModel.setOnLoadingComplete(ok -> {
+            success.set(ok);
+            done.countDown();
+        });
+
+        try {
+            viewModel.loadData();
+            done.await();
+        } finally {
+            viewModel.shutdown();
+        }
+        System.err.printf("Exportados %d episodios y %d relaciones " + 
+                "episodio-personaje en %d ms%n", episodes.get(), edges.get(), 
+                (System.nanoTime() - start) / 1_000_000);
+        return success.get() && !writeFailed.get();
+    }
+
+    // Los episodios terminan en varios hilos a la vez; cada uno se escribe
+    // entero antes del siguiente.
+    private static void write(EpisodeWriter writer, Episode episode, 
+            List<Charac> characters) throws IOException {
+        synchronized (writer) {
+            writer.write(episode, characters);
+        }
+    }
+
+    private static OutputStream open(String output) throws IOException {
+        if ("-".equals(output)) {
+            // No se cierra System.out al terminar el writer.
+            return new FileOutputStream(FileDescriptor.out) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+        Path path = Path.of(output);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        return Files.newOutputStream(path);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException(
+                        "Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+
+            if (name.equals("headless")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException(
+                        "Missing value for " + args[i]);
+            }
+        }
+        return options;
+    }
+}
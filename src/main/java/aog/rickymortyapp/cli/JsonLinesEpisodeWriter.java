@@ -0,0 +1,56 @@
+package aog.rickymortyapp.cli;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// Una línea JSON por episodio:
+// {"id":1,"name":"...","air_date":"...","episode":"S01E01",
+//  "characters":[{"id":1,"name":"...","status":"...",...}]}
+class JsonLinesEpisodeWriter implements EpisodeWriter {
+    private final Writer out;
+    private final JsonGenerator generator;
+
+    JsonLinesEpisodeWriter(Writer out) throws IOException {
+        this.out = out;
+        this.generator = new JsonFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(Episode episode, List<Charac> characters) 
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", episode.id());
+        generator.writeStringField("name", episode.name());
+        generator.writeStringField("air_date", episode.air_date());
+        generator.writeStringField("episode", episode.episode());
+        generator.writeArrayFieldStart("characters");
+
+        for (Charac character : characters) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", character.id());
+            generator.writeStringField("name", character.name());
+            generator.writeStringField("status", character.status());
+            generator.writeStringField("species", character.species());
+            generator.writeStringField("gender", character.gender());
+            generator.writeStringField("image", character.image());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+        out.write('\n');
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        out.close();
+    }
+}
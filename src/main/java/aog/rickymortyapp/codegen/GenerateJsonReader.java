@@ -0,0 +1,15 @@
+package aog.rickymortyapp.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Pide a JsonReaderProcessor un lector JSON generado para este record:
+// una clase <Record>JsonReader en el mismo paquete con un método estático
+// read(JsonParser). Respeta @JsonProperty y
+// @JsonIgnoreProperties(ignoreUnknown = true).
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateJsonReader {
+}
@@ -0,0 +1,418 @@
+package aog.rickymortyapp.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.tools.Diagnostic;
+
+// Genera <Record>JsonReader para cada record con @GenerateJsonReader: lee
+// los campos en un único recorrido de JsonParser, sin reflexión ni
+// introspección de Jackson en tiempo de ejecución. Tipos admitidos por
+// componente: primitivos int/long/double/boolean y sus envoltorios, String,
+// otros records anotados, variables de tipo y arrays de cualquiera de ellos
+// salvo primitivos. Cada variable de tipo T añade a read() un
+// JsonValueReader<T> y un IntFunction<T[]> para crear sus arrays.
+@SupportedAnnotationTypes("aog.rickymortyapp.codegen.GenerateJsonReader")
+public class JsonReaderProcessor extends AbstractProcessor {
+    private static final String ANNOTATION =
+            "aog.rickymortyapp.codegen.GenerateJsonReader";
+    private static final String JSON_PROPERTY =
+            "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE_PROPERTIES =
+            "com.fasterxml.jackson.annotation.JsonIgnoreProperties";
+    private static final String SUFFIX = "JsonReader";
+
+    private record Field(String name, String json, String type,
+            String initial, String read) {
+    }
+
+    private static final class UnsupportedTypeException extends Exception {
+        UnsupportedTypeException(String message) {
+            super(message);
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations,
+            RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            for (Element element :
+                    round.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD) {
+                    error(element, "@GenerateJsonReader requires a record");
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (UnsupportedTypeException ex) {
+                    error(element, ex.getMessage());
+                } catch (IOException ex) {
+                    error(element, "Cannot write reader: " + ex.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement record)
+            throws UnsupportedTypeException, IOException {
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(record).getQualifiedName().toString();
+        String recordType = typeName(record);
+        String readerName = readerSimpleName(record);
+        List<? extends TypeParameterElement> typeParameters =
+                record.getTypeParameters();
+        List<Field> fields = new ArrayList<>();
+
+        for (RecordComponentElement component :
+                record.getRecordComponents()) {
+            fields.add(field(record, component));
+        }
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import aog.rickymortyapp.codegen.JsonReaders;\n")
+                .append("import aog.rickymortyapp.codegen.JsonValueReader;\n")
+                .append("import com.fasterxml.jackson.core.JsonParser;\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.util.function.IntFunction;\n")
+                .append("import javax.annotation.processing.Generated;\n\n")
+                .append("// Generado por JsonReaderProcessor a partir de ")
+                .append(recordType).append(". No editar.\n")
+                .append("@Generated(\"")
+                .append(JsonReaderProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(readerName)
+                .append(" {\n\n")
+                .append("    private ").append(readerName).append("() {\n")
+                .append("    }\n\n");
+        StringBuilder generics = new StringBuilder();
+        StringBuilder parameters = new StringBuilder("JsonParser parser");
+
+        for (TypeParameterElement parameter : typeParameters) {
+            String name = parameter.getSimpleName().toString();
+            generics.append(generics.length() == 0 ? "<" : ", ").append(name);
+            parameters.append(", JsonValueReader<").append(name)
+                    .append("> read").append(name)
+                    .append(", IntFunction<").append(name)
+                    .append("[]> new").append(name).append("Array");
+        }
+        String resultType = recordType;
+
+        if (generics.length() > 0) {
+            generics.append(">");
+            resultType += generics;
+            generics.append(" ");
+        }
+        source.append("    public static ").append(generics)
+                .append(resultType).append(" read(").append(parameters)
+                .append(") throws IOException {\n")
+                .append("        if (!JsonReaders.startObject(parser, \"")
+                .append(recordType).append("\")) {\n")
+                .append("            return null;\n")
+                .append("        }\n");
+
+        for (Field field : fields) {
+            source.append("        ").append(field.type()).append(" ")
+                    .append(field.name()).append(" = ")
+                    .append(field.initial()).append(";\n");
+        }
+        source.append("        String field;\n\n")
+                .append("        while ((field = JsonReaders.nextField(parser))")
+                .append(" != null) {\n")
+                .append("            switch (field) {\n");
+
+        for (Field field : fields) {
+            source.append("                case \"")
+                    .append(escape(field.json())).append("\" -> ")
+                    .append(field.name()).append(" = ")
+                    .append(field.read()).append(";\n");
+        }
+        source.append("                default -> ");
+
+        if (ignoresUnknown(record)) {
+            source.append("parser.skipChildren();\n");
+        } else {
+            source.append("throw JsonReaders.unknownField(parser, \"")
+                    .append(recordType).append("\", field);\n");
+        }
+        source.append("            }\n")
+                .append("        }\n")
+                .append("        return new ").append(recordType)
+                .append(generics.length() > 0 ? "<>" : "").append("(");
+
+        for (int i = 0; i < fields.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append(fields.get(i).name());
+        }
+        source.append(");\n")
+                .append("    }\n")
+                .append("}\n");
+        String qualifiedName = packageName.isEmpty()
+                ? readerName : packageName + "." + readerName;
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(qualifiedName, record).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private Field field(TypeElement record, RecordComponentElement component)
+            throws UnsupportedTypeException {
+        String name = component.getSimpleName().toString();
+        TypeMirror type = component.asType();
+
+        // Nombres de las variables locales del lector generado.
+        if (name.equals("parser") || name.equals("field")) {
+            throw new UnsupportedTypeException(typeName(record) + "." +
+                    name + ": reserved component name");
+        }
+        String json = jsonName(component);
+
+        try {
+            return new Field(name, json, sourceType(type), initialValue(type),
+                    readExpression(type));
+        } catch (UnsupportedTypeException ex) {
+            throw new UnsupportedTypeException(typeName(record) + "." +
+                    name + ": " + ex.getMessage());
+        }
+    }
+
+    // Expresión que lee un valor de este tipo con el parser en su primer
+    // token.
+    private String readExpression(TypeMirror type)
+            throws UnsupportedTypeException {
+        switch (type.getKind()) {
+            case INT:
+                return "JsonReaders.readInt(parser)";
+            case LONG:
+                return "JsonReaders.readLong(parser)";
+            case DOUBLE:
+                return "JsonReaders.readDouble(parser)";
+            case BOOLEAN:
+                return "JsonReaders.readBoolean(parser)";
+            case TYPEVAR:
+                return "read" + ((TypeVariable) type).asElement()
+                        .getSimpleName() + ".read(parser)";
+            case ARRAY:
+                TypeMirror component = ((ArrayType) type).getComponentType();
+
+                if (isType(component, "java.lang.String")) {
+                    return "JsonReaders.readStringArray(parser)";
+                }
+                if (component.getKind().isPrimitive() ||
+                        component.getKind() == TypeKind.ARRAY) {
+                    throw new UnsupportedTypeException(
+                            "unsupported array type " + type);
+                }
+                return "JsonReaders.readArray(parser, " +
+                        valueReader(component) + ", " +
+                        arrayFactory(component) + ", false)";
+            case DECLARED:
+                return declaredRead((DeclaredType) type);
+            default:
+                throw new UnsupportedTypeException("unsupported type " + type);
+        }
+    }
+
+    private String declaredRead(DeclaredType type)
+            throws UnsupportedTypeException {
+        TypeElement element = (TypeElement) type.asElement();
+        String boxed = switch (element.getQualifiedName().toString()) {
+            case "java.lang.String" -> "String";
+            case "java.lang.Integer" -> "BoxedInt";
+            case "java.lang.Long" -> "BoxedLong";
+            case "java.lang.Double" -> "BoxedDouble";
+            case "java.lang.Boolean" -> "BoxedBoolean";
+            default -> null;
+        };
+
+        if (boxed != null) {
+            return "JsonReaders.read" + boxed + "(parser)";
+        }
+        if (!hasReader(element)) {
+            throw new UnsupportedTypeException("unsupported type " + type +
+                    " (missing @GenerateJsonReader?)");
+        }
+        if (!element.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException(
+                    "generic nested records are not supported: " + type);
+        }
+        return readerQualifiedName(element) + ".read(parser)";
+    }
+
+    // Referencia a método que lee un elemento de array.
+    private String valueReader(TypeMirror type)
+            throws UnsupportedTypeException {
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return "read" + ((TypeVariable) type).asElement().getSimpleName();
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedTypeException(
+                    "unsupported array type " + type);
+        }
+        String read = declaredRead((DeclaredType) type);
+        int call = read.lastIndexOf('.');
+        return read.substring(0, call) + "::" +
+                read.substring(call + 1, read.indexOf('(', call));
+    }
+
+    private String arrayFactory(TypeMirror type) {
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return "new" + ((TypeVariable) type).asElement().getSimpleName() +
+                    "Array";
+        }
+        return sourceType(type) + "[]::new";
+    }
+
+    private String initialValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case INT, LONG -> "0";
+            case DOUBLE -> "0.0";
+            case BOOLEAN -> "false";
+            default -> "null";
+        };
+    }
+
+    private String sourceType(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return typeName((TypeElement) ((DeclaredType) type).asElement());
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return sourceType(((ArrayType) type).getComponentType()) + "[]";
+        }
+        return type.toString();
+    }
+
+    private String jsonName(RecordComponentElement component) {
+        List<Element> annotated = new ArrayList<>();
+        annotated.add(component);
+        ExecutableElement accessor = component.getAccessor();
+
+        if (accessor != null) {
+            annotated.add(accessor);
+        }
+        for (Element element : annotated) {
+            String value = stringValue(element, JSON_PROPERTY, "value");
+
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return component.getSimpleName().toString();
+    }
+
+    private boolean ignoresUnknown(TypeElement record) {
+        AnnotationMirror mirror = annotation(record, JSON_IGNORE_PROPERTIES);
+
+        if (mirror == null) {
+            return false;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue>
+                entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("ignoreUnknown")) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    private String stringValue(Element element, String annotationType,
+            String attribute) {
+        AnnotationMirror mirror = annotation(element, annotationType);
+
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue>
+                entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationMirror annotation(Element element,
+            String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType()
+                    .asElement();
+
+            if (type.getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasReader(TypeElement element) {
+        return element.getKind() == ElementKind.RECORD &&
+                annotation(element, ANNOTATION) != null;
+    }
+
+    private static boolean isType(TypeMirror type, String qualifiedName) {
+        return type.getKind() == TypeKind.DECLARED &&
+                ((TypeElement) ((DeclaredType) type).asElement())
+                        .getQualifiedName().contentEquals(qualifiedName);
+    }
+
+    // Nombre del tipo visible desde su propio paquete (Outer.Inner para
+    // records anidados).
+    private String typeName(TypeElement element) {
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(element).getQualifiedName().toString();
+        String qualified = element.getQualifiedName().toString();
+        return packageName.isEmpty()
+                ? qualified : qualified.substring(packageName.length() + 1);
+    }
+
+    private String readerSimpleName(TypeElement element) {
+        return element.getNestingKind() == NestingKind.TOP_LEVEL
+                ? element.getSimpleName() + SUFFIX
+                : typeName(element).replace('.', '_') + SUFFIX;
+    }
+
+    private String readerQualifiedName(TypeElement element) {
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(element).getQualifiedName().toString();
+        return packageName.isEmpty()
+                ? readerSimpleName(element)
+                : packageName + "." + readerSimpleName(element);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                message, element);
+    }
+}
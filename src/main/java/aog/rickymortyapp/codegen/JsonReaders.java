@@ -0,0 +1,227 @@
+package aog.rickymortyapp.codegen;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Lectura de valores sueltos para los lectores generados. Aceptan las
+// mismas coerciones que Jackson con su configuración por defecto: números
+// desde texto (vacío como 0), null como 0/false en primitivos y escalares
+// como String. Lo que Jackson rechazaría lanza JsonParseException.
+public final class JsonReaders {
+
+    private JsonReaders() {
+    }
+
+    public static int readInt(JsonParser parser) throws IOException {
+        requireScalar(parser, "int");
+
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+
+            try {
+                return text.isEmpty() ? 0 : Integer.parseInt(text);
+            } catch (NumberFormatException ex) {
+                throw mismatch(parser, "int");
+            }
+        }
+        return parser.getValueAsInt();
+    }
+
+    public static long readLong(JsonParser parser) throws IOException {
+        requireScalar(parser, "long");
+
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+
+            try {
+                return text.isEmpty() ? 0 : Long.parseLong(text);
+            } catch (NumberFormatException ex) {
+                throw mismatch(parser, "long");
+            }
+        }
+        return parser.getValueAsLong();
+    }
+
+    public static double readDouble(JsonParser parser) throws IOException {
+        requireScalar(parser, "double");
+
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+
+            try {
+                return text.isEmpty() ? 0 : Double.parseDouble(text);
+            } catch (NumberFormatException ex) {
+                throw mismatch(parser, "double");
+            }
+        }
+        return parser.getValueAsDouble();
+    }
+
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        requireScalar(parser, "boolean");
+
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+
+            if (!text.equalsIgnoreCase("true") && 
+                    !text.equalsIgnoreCase("false") && !text.isEmpty()) {
+                throw mismatch(parser, "boolean");
+            }
+            return text.equalsIgnoreCase("true");
+        }
+        return parser.getValueAsBoolean();
+    }
+
+    public static Integer readBoxedInt(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL 
+                ? null : readInt(parser);
+    }
+
+    public static Long readBoxedLong(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL 
+                ? null : readLong(parser);
+    }
+
+    public static Double readBoxedDouble(JsonParser parser) 
+            throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL 
+                ? null : readDouble(parser);
+    }
+
+    public static Boolean readBoxedBoolean(JsonParser parser) 
+            throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL 
+                ? null : readBoolean(parser);
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        requireScalar(parser, "String");
+        return parser.getValueAsString();
+    }
+
+    // Camino rápido de nextTextValue() para los arrays de URLs, que son
+    // casi todo el cuerpo de una página de episodios.
+    public static String[] readStringArray(JsonParser parser) 
+            throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw mismatch(parser, "String[]");
+        }
+        String[] values = new String[16];
+        int size = 0;
+        String value;
+
+        while (true) {
+            if ((value = parser.nextTextValue()) == null) {
+                token = parser.currentToken();
+
+                if (token == JsonToken.END_ARRAY) {
+                    break;
+                }
+                if (token == null) {
+                    throw mismatch(parser, "String[]");
+                }
+                value = readString(parser);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    // Con acceptSingleValue un valor suelto se lee como array de uno
+    // (DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY).
+    public static <T> T[] readArray(JsonParser parser, 
+            JsonValueReader<T> element, IntFunction<T[]> newArray, 
+            boolean acceptSingleValue) throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            if (!acceptSingleValue) {
+                throw mismatch(parser, "array");
+            }
+            T[] single = newArray.apply(1);
+            single[0] = element.read(parser);
+            return single;
+        }
+        List<T> values = new ArrayList<>();
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == null) {
+                throw mismatch(parser, "array");
+            }
+            values.add(element.read(parser));
+        }
+        return values.toArray(newArray.apply(values.size()));
+    }
+
+    // El parser debe estar en START_OBJECT; devuelve false si el valor es
+    // null.
+    public static boolean startObject(JsonParser parser, String type) 
+            throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw mismatch(parser, type);
+        }
+        return true;
+    }
+
+    // Siguiente campo del objeto actual, o null al llegar a END_OBJECT.
+    // Deja el parser en el primer token del valor.
+    public static String nextField(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+
+        if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        if (token != JsonToken.FIELD_NAME) {
+            throw mismatch(parser, "field name");
+        }
+        String name = parser.currentName();
+        parser.nextToken();
+        return name;
+    }
+
+    public static JsonParseException unknownField(JsonParser parser, 
+            String type, String field) {
+        return new JsonParseException(parser, "Unrecognized field \"" + 
+                field + "\" for " + type);
+    }
+
+    public static JsonParseException mismatch(JsonParser parser, 
+            String type) {
+        return new JsonParseException(parser, "Cannot read " + type + 
+                " from " + parser.currentToken());
+    }
+
+    private static void requireScalar(JsonParser parser, String type) 
+            throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == null || !token.isScalarValue()) {
+            throw mismatch(parser, type);
+        }
+    }
+}
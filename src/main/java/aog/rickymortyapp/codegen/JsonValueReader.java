@@ -0,0 +1,11 @@
+package aog.rickymortyapp.codegen;
+
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+
+// Lee un valor con el parser situado en su primer token; al volver, el
+// parser queda en el último token del valor (como un JsonDeserializer).
+@FunctionalInterface
+public interface JsonValueReader<T> {
+    T read(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,8 @@
+package aog.rickymortyapp.metrics;
+
+public enum Endpoint {
+    EPISODES,
+    CHARACTER,
+    CHARACTERS,
+    CHARACTER_PAGES
+}
@@ -0,0 +1,24 @@
+package aog.rickymortyapp.metrics;
+
+public record HistogramSnapshot(
+    long count,
+    long sumNanos,
+    long maxNanos,
+    long p50Nanos,
+    long p90Nanos,
+    long p99Nanos
+) {
+    public static final HistogramSnapshot EMPTY = 
+            new HistogramSnapshot(0, 0, 0, 0, 0, 0);
+
+    public long meanNanos() {
+        return count == 0 ? 0 : sumNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, p50=%.1f ms, p90=%.1f ms, p99=%.1f ms, " +
+                "max=%.1f ms", count, p50Nanos / 1e6, p90Nanos / 1e6, 
+                p99Nanos / 1e6, maxNanos / 1e6);
+    }
+}
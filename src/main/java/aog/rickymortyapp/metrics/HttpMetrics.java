@@ -0,0 +1,145 @@
+package aog.rickymortyapp.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.http.HttpClient;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Métricas de la capa HTTP de ApiService: latencia por endpoint, espera en
+// la cola del RequestGovernor, peticiones en vuelo y contadores de
+// respuestas 429/5xx, errores de transporte y de parseo, bytes del cuerpo
+// (en la red y descomprimidos), respuestas por versión de HTTP y cuerpos
+// que el lector JSON generado no pudo leer y se decodificaron con Jackson.
+public final class HttpMetrics {
+    private static final Endpoint[] ENDPOINTS = Endpoint.values();
+
+    private final LatencyHistogram[] latency = 
+            new LatencyHistogram[ENDPOINTS.length];
+    private final AtomicLongArray inFlight = 
+            new AtomicLongArray(ENDPOINTS.length);
+    private final LatencyHistogram allRequests = new LatencyHistogram();
+    private final LatencyHistogram governorWait = new LatencyHistogram();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder parseFailures = new LongAdder();
+    private final LongAdder wireBytes = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder readerFallbacks = new LongAdder();
+
+    public HttpMetrics() {
+        for (int i = 0; i < latency.length; i++) {
+            latency[i] = new LatencyHistogram();
+        }
+    }
+
+    public void recordGovernorWait(long nanos) {
+        governorWait.record(nanos);
+    }
+
+    public void requestStarted(Endpoint endpoint) {
+        inFlight.incrementAndGet(endpoint.ordinal());
+    }
+
+    // status < 0 indica un error de transporte (sin respuesta).
+    public void requestFinished(Endpoint endpoint, long nanos, int status) {
+        inFlight.decrementAndGet(endpoint.ordinal());
+        latency[endpoint.ordinal()].record(nanos);
+        allRequests.record(nanos);
+
+        if (status < 0) {
+            transportErrors.increment();
+        } else if (status == 429) {
+            throttled.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        }
+    }
+
+    public void recordBody(long wire, long decoded) {
+        wireBytes.add(wire);
+        decodedBytes.add(decoded);
+    }
+
+    public void recordVersion(HttpClient.Version version) {
+        if (version == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        }
+    }
+
+    public void recordReaderFallback() {
+        readerFallbacks.increment();
+    }
+
+    // Solo cuenta los fallos cuya causa es un error de parseo JSON.
+    public void recordFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; 
+                cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException) {
+                parseFailures.increment();
+                return;
+            }
+        }
+    }
+
+    public HistogramSnapshot allRequests() {
+        return allRequests.snapshot();
+    }
+
+    public Map<Endpoint, HistogramSnapshot> latencyByEndpoint() {
+        Map<Endpoint, HistogramSnapshot> result = new EnumMap<>(Endpoint.class);
+
+        for (Endpoint endpoint : ENDPOINTS) {
+            result.put(endpoint, latency[endpoint.ordinal()].snapshot());
+        }
+        return result;
+    }
+
+    public Map<Endpoint, Long> inFlightByEndpoint() {
+        Map<Endpoint, Long> result = new EnumMap<>(Endpoint.class);
+
+        for (Endpoint endpoint : ENDPOINTS) {
+            result.put(endpoint, inFlight.get(endpoint.ordinal()));
+        }
+        return result;
+    }
+
+    public HistogramSnapshot governorWait() {
+        return governorWait.snapshot();
+    }
+
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    public long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    public long transportErrors() {
+        return transportErrors.sum();
+    }
+
+    public long parseFailures() {
+        return parseFailures.sum();
+    }
+
+    public long wireBytes() {
+        return wireBytes.sum();
+    }
+
+    public long decodedBytes() {
+        return decodedBytes.sum();
+    }
+
+    public long http2Responses() {
+        return http2Responses.sum();
+    }
+
+    public long readerFallbacks() {
+        return readerFallbacks.sum();
+    }
+}
@@ -0,0 +1,93 @@
+package aog.rickymortyapp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de duraciones con cubetas log-lineales: 8 cubetas por cada
+// potencia de 2 a partir de 1 µs (error relativo < 12,5 %). record() solo
+// hace incrementos atómicos sobre arrays ya reservados, sin locks ni
+// asignaciones, así que se puede llamar desde cualquier hilo de red.
+public final class LatencyHistogram {
+    private static final int MIN_SHIFT = 10;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 34 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(indexOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        long current = max.get();
+
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long maxNanos = max.get();
+        return new HistogramSnapshot(total, sum.sum(), maxNanos,
+                percentile(copy, total, 0.50, maxNanos),
+                percentile(copy, total, 0.90, maxNanos),
+                percentile(copy, total, 0.99, maxNanos));
+    }
+
+    static int indexOf(long nanos) {
+        long value = nanos >>> MIN_SHIFT;
+
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int index = (shift + 1) * SUB_BUCKETS +
+                (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return (long) (index + 1) << MIN_SHIFT;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long low = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return (low + (1L << shift)) << MIN_SHIFT;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile,
+            long maxNanos) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+}
@@ -0,0 +1,24 @@
+package aog.rickymortyapp.metrics;
+
+// Métricas de la carga de personajes por episodio: cuánto espera cada
+// episodio en la cola de carga antes de empezar y cuánto tarda después.
+public final class LoadMetrics {
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram episodeLoad = new LatencyHistogram();
+
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    public void recordEpisodeLoad(long nanos) {
+        episodeLoad.record(nanos);
+    }
+
+    public HistogramSnapshot queueWait() {
+        return queueWait.snapshot();
+    }
+
+    public HistogramSnapshot episodeLoad() {
+        return episodeLoad.snapshot();
+    }
+}
@@ -0,0 +1,201 @@
+package aog.rickymortyapp.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Publica un MetricsSnapshot como MXBean bajo
+// aog.rickymortyapp:type=Metrics,name=viewModel-N. Cada getter toma una
+// instantánea nueva; JMX nunca toca el camino caliente.
+public final class Metrics implements MetricsMXBean {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final Supplier<MetricsSnapshot> source;
+    private ObjectName name;
+
+    public Metrics(Supplier<MetricsSnapshot> source) {
+        this.source = source;
+    }
+
+    public synchronized void register() {
+        if (name != null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName candidate = new ObjectName(
+                    "aog.rickymortyapp:type=Metrics,name=viewModel-" + 
+                    SEQUENCE.incrementAndGet());
+            server.registerMBean(this, candidate);
+            name = candidate;
+        } catch (JMException ex) {
+            System.err.println("Error registering metrics MBean: " + 
+                    ex.getMessage());
+        }
+    }
+
+    public synchronized void unregister() {
+        if (name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException ex) {
+            System.err.println("Error unregistering metrics MBean: " + 
+                    ex.getMessage());
+        }
+        name = null;
+    }
+
+    @Override
+    public Map<String, Long> getRequestCounts() {
+        return byEndpoint(HistogramSnapshot::count);
+    }
+
+    @Override
+    public Map<String, Double> getRequestLatencyP50Millis() {
+        return byEndpoint(h -> millis(h.p50Nanos()));
+    }
+
+    @Override
+    public Map<String, Double> getRequestLatencyP99Millis() {
+        return byEndpoint(h -> millis(h.p99Nanos()));
+    }
+
+    @Override
+    public Map<String, Long> getInFlightRequests() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        source.get().inFlightRequests().forEach(
+                (endpoint, value) -> result.put(endpoint.name(), value));
+        return result;
+    }
+
+    @Override
+    public double getGovernorWaitP99Millis() {
+        return millis(source.get().governorWait().p99Nanos());
+    }
+
+    @Override
+    public long getRetries() {
+        return source.get().retries();
+    }
+
+    @Override
+    public long getThrottledResponses() {
+        return source.get().throttled();
+    }
+
+    @Override
+    public long getServerErrors() {
+        return source.get().serverErrors();
+    }
+
+    @Override
+    public long getTransportErrors() {
+        return source.get().transportErrors();
+    }
+
+    @Override
+    public long getParseFailures() {
+        return source.get().parseFailures();
+    }
+
+    @Override
+    public long getWireBytes() {
+        return source.get().wireBytes();
+    }
+
+    @Override
+    public long getDecodedBytes() {
+        return source.get().decodedBytes();
+    }
+
+    @Override
+    public long getHttp2Responses() {
+        return source.get().http2Responses();
+    }
+
+    @Override
+    public long getHedgedRequests() {
+        return source.get().hedges();
+    }
+
+    @Override
+    public long getHedgeWins() {
+        return source.get().hedgeWins();
+    }
+
+    @Override
+    public double getHedgeWinRate() {
+        return source.get().hedgeWinRate();
+    }
+
+    @Override
+    public String getCircuitBreakerState() {
+        return source.get().circuitState();
+    }
+
+    @Override
+    public long getCircuitBreakerRejections() {
+        return source.get().circuitRejections();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return source.get().cacheHits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return source.get().cacheMisses();
+    }
+
+    @Override
+    public long getCacheCoalesced() {
+        return source.get().cacheCoalesced();
+    }
+
+    @Override
+    public long getEpisodesLoaded() {
+        return source.get().episodeLoad().count();
+    }
+
+    @Override
+    public double getEpisodeQueueWaitP50Millis() {
+        return millis(source.get().episodeQueueWait().p50Nanos());
+    }
+
+    @Override
+    public double getEpisodeQueueWaitP99Millis() {
+        return millis(source.get().episodeQueueWait().p99Nanos());
+    }
+
+    @Override
+    public double getEpisodeLoadP50Millis() {
+        return millis(source.get().episodeLoad().p50Nanos());
+    }
+
+    @Override
+    public double getEpisodeLoadP99Millis() {
+        return millis(source.get().episodeLoad().p99Nanos());
+    }
+
+    private <T> Map<String, T> byEndpoint(
+            Function<HistogramSnapshot, T> value) {
+        Map<String, T> result = new LinkedHashMap<>();
+        source.get().requestLatency().forEach(
+                (endpoint, histogram) -> result.put(endpoint.name(), 
+                        value.apply(histogram)));
+        return result;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
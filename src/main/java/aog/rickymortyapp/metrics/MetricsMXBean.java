@@ -0,0 +1,59 @@
+package aog.rickymortyapp.metrics;
+
+import java.util.Map;
+
+// Vista JMX de MetricsSnapshot (jconsole/VisualVM). Las duraciones se
+// exponen en milisegundos.
+public interface MetricsMXBean {
+    Map<String, Long> getRequestCounts();
+
+    Map<String, Double> getRequestLatencyP50Millis();
+
+    Map<String, Double> getRequestLatencyP99Millis();
+
+    Map<String, Long> getInFlightRequests();
+
+    double getGovernorWaitP99Millis();
+
+    long getRetries();
+
+    long getThrottledResponses();
+
+    long getServerErrors();
+
+    long getTransportErrors();
+
+    long getParseFailures();
+
+    long getWireBytes();
+
+    long getDecodedBytes();
+
+    long getHttp2Responses();
+
+    long getHedgedRequests();
+
+    long getHedgeWins();
+
+    double getHedgeWinRate();
+
+    String getCircuitBreakerState();
+
+    long getCircuitBreakerRejections();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    long getCacheCoalesced();
+
+    long getEpisodesLoaded();
+
+    double getEpisodeQueueWaitP50Millis();
+
+    double getEpisodeQueueWaitP99Millis();
+
+    double getEpisodeLoadP50Millis();
+
+    double getEpisodeLoadP99Millis();
+}
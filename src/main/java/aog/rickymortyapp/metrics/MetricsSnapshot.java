@@ -0,0 +1,39 @@
+package aog.rickymortyapp.metrics;
+
+import java.util.Map;
+
+public record MetricsSnapshot(
+    Map<Endpoint, HistogramSnapshot> requestLatency,
+    Map<Endpoint, Long> inFlightRequests,
+    HistogramSnapshot governorWait,
+    long retries,
+    long throttled,
+    long serverErrors,
+    long transportErrors,
+    long parseFailures,
+    long wireBytes,
+    long decodedBytes,
+    long http2Responses,
+    long hedges,
+    long hedgeWins,
+    String circuitState,
+    long circuitRejections,
+    long cacheHits,
+    long cacheMisses,
+    long cacheCoalesced,
+    HistogramSnapshot episodeQueueWait,
+    HistogramSnapshot episodeLoad
+) {
+    public double hedgeWinRate() {
+        return hedges == 0 ? 0 : (double) hedgeWins / hedges;
+    }
+
+    public long inFlightTotal() {
+        long total = 0;
+
+        for (long value : inFlightRequests.values()) {
+            total += value;
+        }
+        return total;
+    }
+}
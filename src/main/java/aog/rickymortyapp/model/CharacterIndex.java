@@ -0,0 +1,302 @@
+package aog.rickymortyapp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índices sobre la CharacterTable que se actualizan según llega cada
+// episodio:
+//  - nombre: mapa ordenado de palabras en minúsculas para búsqueda por
+//    prefijo (tanto del nombre completo como de cada palabra),
+//  - facetas: un BitSet de filas por código de status/species/gender,
+//  - inverso: ids de episodio en los que aparece cada personaje.
+// Las consultas devuelven vistas sobre la tabla, sin copiar listas.
+// Un personaje cuyo nombre o facetas cambian en la tabla se vuelve a
+// indexar al llegar de nuevo, y el que se queda sin episodios sale del
+// índice.
+public final class CharacterIndex {
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final CharacterTable table;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Integer> names = new TreeMap<>();
+    private final BitSet indexedRows = new BitSet();
+    private BitSet[] statusFacet = new BitSet[0];
+    private BitSet[] speciesFacet = new BitSet[0];
+    private BitSet[] genderFacet = new BitSet[0];
+    private int[][] episodesByRow = new int[256][];
+    private int[] episodeCounts = new int[256];
+    // Nombre normalizado con el que se indexó cada fila.
+    private String[] namesByRow = new String[256];
+
+    public CharacterIndex(CharacterTable table) {
+        this.table = table;
+    }
+
+    public void indexEpisode(int episodeId, int[] characterIds) {
+        lock.writeLock().lock();
+        try {
+            for (int id : characterIds) {
+                int row = table.rowOf(id);
+
+                if (row < 0) {
+                    continue;
+                }
+                if (indexedRows.get(row) && isStale(row)) {
+                    unindexCharacter(row);
+                }
+                if (!indexedRows.get(row)) {
+                    indexCharacter(row);
+                }
+                addEpisode(row, episodeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // characterIds son los que se indexaron con el episodio.
+    public void removeEpisode(int episodeId, int[] characterIds) {
+        lock.writeLock().lock();
+        try {
+            for (int id : characterIds) {
+                int row = table.rowOf(id);
+
+                if (row < 0 || row >= episodesByRow.length ||
+                        episodesByRow[row] == null) {
+                    continue;
+                }
+                int[] episodes = episodesByRow[row];
+                int count = episodeCounts[row];
+
+                for (int i = 0; i < count; i++) {
+                    if (episodes[i] == episodeId) {
+                        episodes[i] = episodes[--count];
+                        episodeCounts[row] = count;
+                        break;
+                    }
+                }
+                if (count == 0 && indexedRows.get(row)) {
+                    unindexCharacter(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            indexedRows.clear();
+            statusFacet = new BitSet[0];
+            speciesFacet = new BitSet[0];
+            genderFacet = new BitSet[0];
+            episodesByRow = new int[256][];
+            episodeCounts = new int[256];
+            namesByRow = new String[256];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Personajes cuyo nombre, o alguna de sus palabras, empieza por el
+    // prefijo (sin distinguir mayúsculas), ordenados por nombre.
+    public List<Charac> findByNamePrefix(String prefix) {
+        String key = normalize(prefix);
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, Integer> matches = key.isEmpty()
+                    ? names
+                    : names.subMap(key, true, key + Character.MAX_VALUE, true);
+            BitSet seen = new BitSet();
+            int[] ids = new int[matches.size()];
+            int count = 0;
+
+            for (Integer row : matches.values()) {
+                if (!seen.get(row)) {
+                    seen.set(row);
+                    ids[count++] = table.idAt(row);
+                }
+            }
+            return table.viewOf(Arrays.copyOf(ids, count));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Un valor null en cualquier faceta significa "cualquiera".
+    public List<Charac> findByFacets(String status, String species,
+            String gender) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = (BitSet) indexedRows.clone();
+
+            if (!restrict(rows, statusFacet, status) ||
+                    !restrict(rows, speciesFacet, species) ||
+                    !restrict(rows, genderFacet, gender)) {
+                return List.of();
+            }
+            int[] ids = new int[rows.cardinality()];
+            int count = 0;
+
+            for (int row = rows.nextSetBit(0); row >= 0;
+                    row = rows.nextSetBit(row + 1)) {
+                ids[count++] = table.idAt(row);
+            }
+            return table.viewOf(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] episodeIdsFor(int characterId) {
+        lock.readLock().lock();
+        try {
+            int row = table.rowOf(characterId);
+
+            if (row < 0 || row >= episodesByRow.length ||
+                    episodesByRow[row] == null) {
+                return new int[0];
+            }
+            return Arrays.copyOf(episodesByRow[row], episodeCounts[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedRows.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean restrict(BitSet rows, BitSet[] facet, String value) {
+        if (value == null) {
+            return true;
+        }
+        int code = table.symbols().codeOf(value);
+
+        if (code <= 0 || code >= facet.length || facet[code] == null) {
+            return false;
+        }
+        rows.and(facet[code]);
+        return !rows.isEmpty();
+    }
+
+    private void indexCharacter(int row) {
+        ensureCapacity(row);
+        indexedRows.set(row);
+        String name = normalize(table.nameAt(row));
+        namesByRow[row] = name;
+
+        for (String key : nameKeys(name)) {
+            names.put(key + KEY_SEPARATOR + row, row);
+        }
+        statusFacet = addToFacet(statusFacet, table.statusCodeAt(row), row);
+        speciesFacet = addToFacet(speciesFacet, table.speciesCodeAt(row), row);
+        genderFacet = addToFacet(genderFacet, table.genderCodeAt(row), row);
+    }
+
+    private void unindexCharacter(int row) {
+        indexedRows.clear(row);
+
+        for (String key : nameKeys(namesByRow[row])) {
+            names.remove(key + KEY_SEPARATOR + row);
+        }
+        namesByRow[row] = null;
+
+        for (BitSet[] facet : List.of(statusFacet, speciesFacet, genderFacet)) {
+            for (BitSet rows : facet) {
+                if (rows != null) {
+                    rows.clear(row);
+                }
+            }
+        }
+    }
+
+    // La tabla actualiza las filas en su sitio: si el nombre o alguna
+    // faceta ya no coincide con lo indexado hay que reindexar.
+    private boolean isStale(int row) {
+        return !normalize(table.nameAt(row)).equals(namesByRow[row]) ||
+                !inFacet(statusFacet, table.statusCodeAt(row), row) ||
+                !inFacet(speciesFacet, table.speciesCodeAt(row), row) ||
+                !inFacet(genderFacet, table.genderCodeAt(row), row);
+    }
+
+    private static boolean inFacet(BitSet[] facet, int code, int row) {
+        return code < facet.length && facet[code] != null &&
+                facet[code].get(row);
+    }
+
+    // El nombre completo y cada palabra que no sea su comienzo.
+    private static List<String> nameKeys(String name) {
+        if (name == null || name.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(name);
+
+        for (String word : name.split("\\s+")) {
+            if (!word.isEmpty() && !name.startsWith(word + " ")) {
+                keys.add(word);
+            }
+        }
+        return keys;
+    }
+
+    private static BitSet[] addToFacet(BitSet[] facet, int code, int row) {
+        if (code >= facet.length) {
+            facet = Arrays.copyOf(facet, code + 1);
+        }
+        if (facet[code] == null) {
+            facet[code] = new BitSet();
+        }
+        facet[code].set(row);
+        return facet;
+    }
+
+    private void ensureCapacity(int row) {
+        if (row >= episodesByRow.length) {
+            int capacity = Math.max(row + 1, episodesByRow.length * 2);
+            episodesByRow = Arrays.copyOf(episodesByRow, capacity);
+            episodeCounts = Arrays.copyOf(episodeCounts, capacity);
+            namesByRow = Arrays.copyOf(namesByRow, capacity);
+        }
+    }
+
+    private void addEpisode(int row, int episodeId) {
+        ensureCapacity(row);
+        int[] episodes = episodesByRow[row];
+        int count = episodeCounts[row];
+
+        if (episodes == null) {
+            episodes = new int[4];
+        }
+        for (int i = 0; i < count; i++) {
+            if (episodes[i] == episodeId) {
+                return;
+            }
+        }
+        if (count == episodes.length) {
+            episodes = Arrays.copyOf(episodes, count * 2);
+        }
+        episodes[count] = episodeId;
+        episodesByRow[row] = episodes;
+        episodeCounts[row] = count + 1;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,262 @@
+package aog.rickymortyapp.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+// Almacenamiento por columnas de los personajes cargados. Las URLs de
+// episodio se guardan como int[] de ids, y status/species/gender como
+// códigos de 1 byte de una SymbolTable compartida. Los Charac se
+// materializan bajo demanda como vistas ligeras de una fila; el String[] de
+// URLs de episodio se construye de nuevo en cada Charac y no se retiene.
+// Por eso dos Charac de la misma fila no son equals (el record compara el
+// array por referencia): quien necesite reconocer un personaje lo compara
+// por id.
+public final class CharacterTable {
+    private static final int STATUS = 0;
+    private static final int SPECIES = 1;
+    private static final int GENDER = 2;
+    private static final int DIRECT_ID_LIMIT = 1 << 20;
+
+    private final SymbolTable symbols;
+    private int[] rowById = new int[1024];
+    private int[] ids = new int[256];
+    private String[] names = new String[256];
+    private byte[] codes = new byte[256 * 3];
+    private String[] images = new String[256];
+    private int[][] episodeIds = new int[256][];
+    private String episodeUrlPrefix;
+    // Valores que no caben en la tabla de símbolos o URLs que no siguen el
+    // prefijo común; en la práctica vacíos.
+    private final Map<Long, String> overflowSymbols = new HashMap<>();
+    private final Map<Integer, String[]> overflowEpisodes = new HashMap<>();
+    private final Map<Integer, Integer> sparseRows = new HashMap<>();
+    private int size;
+
+    public CharacterTable() {
+        this(new SymbolTable());
+    }
+
+    public CharacterTable(SymbolTable symbols) {
+        this.symbols = symbols;
+        Arrays.fill(rowById, -1);
+    }
+
+    // Inserta o actualiza el personaje y devuelve su fila.
+    public synchronized int add(Charac character) {
+        int id = character.id();
+
+        if (id <= 0) {
+            throw new IllegalArgumentException("Invalid character id: " + id);
+        }
+        int row = rowOf(id);
+
+        if (row < 0) {
+            row = size++;
+            ensureCapacity(size);
+
+            if (id < DIRECT_ID_LIMIT) {
+                ensureIdCapacity(id);
+                rowById[id] = row;
+            } else {
+                sparseRows.put(id, row);
+            }
+        }
+        ids[row] = id;
+        names[row] = character.name();
+        images[row] = character.image();
+        encode(row, STATUS, character.status());
+        encode(row, SPECIES, character.species());
+        encode(row, GENDER, character.gender());
+        episodeIds[row] = encodeEpisodes(row, character.episode());
+        return row;
+    }
+
+    public synchronized boolean contains(int id) {
+        return rowOf(id) >= 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized Charac get(int id) {
+        int row = rowOf(id);
+        return row < 0 ? null : materialize(row);
+    }
+
+    public synchronized Charac getByRow(int row) {
+        return materialize(row);
+    }
+
+    public synchronized int rowOf(int id) {
+        if (id <= 0) {
+            return -1;
+        }
+        if (id < DIRECT_ID_LIMIT) {
+            return id < rowById.length ? rowById[id] : -1;
+        }
+        return sparseRows.getOrDefault(id, -1);
+    }
+
+    public synchronized int idAt(int row) {
+        return ids[row];
+    }
+
+    public synchronized String nameAt(int row) {
+        return names[row];
+    }
+
+    public synchronized String statusAt(int row) {
+        return decode(row, STATUS);
+    }
+
+    public synchronized String speciesAt(int row) {
+        return decode(row, SPECIES);
+    }
+
+    public synchronized String genderAt(int row) {
+        return decode(row, GENDER);
+    }
+
+    public synchronized int statusCodeAt(int row) {
+        return codes[row * 3 + STATUS] & 0xFF;
+    }
+
+    public synchronized int speciesCodeAt(int row) {
+        return codes[row * 3 + SPECIES] & 0xFF;
+    }
+
+    public synchronized int genderCodeAt(int row) {
+        return codes[row * 3 + GENDER] & 0xFF;
+    }
+
+    public synchronized int[] episodeIdsAt(int row) {
+        return episodeIds[row].clone();
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    // Vista de solo lectura sobre una lista de ids; cada get() crea un
+    // Charac a partir de la fila correspondiente.
+    public List<Charac> viewOf(int[] characterIds) {
+        return new CharacterView(this, characterIds);
+    }
+
+    private Charac materialize(int row) {
+        return new Charac(ids[row], names[row], decode(row, STATUS),
+                decode(row, SPECIES), decode(row, GENDER), images[row],
+                episodeUrls(row));
+    }
+
+    private void encode(int row, int field, String value) {
+        int code = symbols.encode(value);
+        long key = (long) row * 3 + field;
+
+        if (code == SymbolTable.NO_CODE) {
+            codes[row * 3 + field] = 0;
+            overflowSymbols.put(key, value);
+        } else {
+            codes[row * 3 + field] = (byte) code;
+            overflowSymbols.remove(key);
+        }
+    }
+
+    private String decode(int row, int field) {
+        byte code = codes[row * 3 + field];
+
+        if (code == 0 && !overflowSymbols.isEmpty()) {
+            return overflowSymbols.get((long) row * 3 + field);
+        }
+        return symbols.decode(code);
+    }
+
+    private int[] encodeEpisodes(int row, String[] urls) {
+        overflowEpisodes.remove(row);
+
+        if (urls == null) {
+            overflowEpisodes.put(row, null);
+            return new int[0];
+        }
+        int[] result = new int[urls.length];
+
+        for (int i = 0; i < urls.length; i++) {
+            int id = ResourceIds.parse(urls[i]);
+            String prefix = id > 0
+                    ? urls[i].substring(0, urls[i].lastIndexOf('/') + 1)
+                    : null;
+
+            if (episodeUrlPrefix == null && prefix != null) {
+                episodeUrlPrefix = prefix;
+            }
+            if (prefix == null || !prefix.equals(episodeUrlPrefix) ||
+                    !urls[i].equals(prefix + id)) {
+                overflowEpisodes.put(row, urls.clone());
+                return new int[0];
+            }
+            result[i] = id;
+        }
+        return result;
+    }
+
+    private String[] episodeUrls(int row) {
+        if (overflowEpisodes.containsKey(row)) {
+            String[] urls = overflowEpisodes.get(row);
+            return urls == null ? null : urls.clone();
+        }
+        int[] episodes = episodeIds[row];
+        String[] urls = new String[episodes.length];
+
+        for (int i = 0; i < episodes.length; i++) {
+            urls[i] = episodeUrlPrefix + episodes[i];
+        }
+        return urls;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        codes = Arrays.copyOf(codes, capacity * 3);
+        images = Arrays.copyOf(images, capacity);
+        episodeIds = Arrays.copyOf(episodeIds, capacity);
+    }
+
+    private void ensureIdCapacity(int id) {
+        if (id < rowById.length) {
+            return;
+        }
+        int oldLength = rowById.length;
+        rowById = Arrays.copyOf(rowById, Math.max(id + 1, oldLength * 2));
+        Arrays.fill(rowById, oldLength, rowById.length, -1);
+    }
+
+    private static final class CharacterView extends AbstractList<Charac>
+            implements RandomAccess {
+        private final CharacterTable table;
+        private final int[] characterIds;
+
+        CharacterView(CharacterTable table, int[] characterIds) {
+            this.table = table;
+            this.characterIds = characterIds;
+        }
+
+        @Override
+        public Charac get(int index) {
+            return table.get(characterIds[index]);
+        }
+
+        @Override
+        public int size() {
+            return characterIds.length;
+        }
+    }
+}
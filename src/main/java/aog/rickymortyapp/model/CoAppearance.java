@@ -0,0 +1,7 @@
+package aog.rickymortyapp.model;
+
+public record CoAppearance(
+    int characterId,
+    int otherId,
+    int sharedEpisodes
+) {}
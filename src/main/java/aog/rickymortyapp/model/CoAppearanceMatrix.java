@@ -0,0 +1,352 @@
+package aog.rickymortyapp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+// Matriz personajes × episodios en bits: cada personaje es una fila de
+// long[] con un bit por episodio. Se llena según llegan los episodios
+// (Episode.characters()) y los personajes (Charac.episode()), y las
+// consultas de co-apariciones son AND + Long.bitCount palabra a palabra.
+// Los recorridos de todos los pares van en paralelo por filas.
+public final class CoAppearanceMatrix {
+    private static final Comparator<CoAppearance> BY_SHARED = 
+            Comparator.comparingInt(CoAppearance::sharedEpisodes)
+                .thenComparing(Comparator.comparingInt(
+                        CoAppearance::characterId).reversed())
+                .thenComparing(Comparator.comparingInt(
+                        CoAppearance::otherId).reversed());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    private final Map<Integer, Integer> columnById = new HashMap<>();
+    private int[] characterIds = new int[256];
+    private int[] episodeIds = new int[64];
+    private long[][] rows = new long[256][];
+    private int characters;
+    private int episodes;
+    private int words = 1;
+
+    public void addEpisode(int episodeId, int[] characterIds) {
+        lock.writeLock().lock();
+        try {
+            int column = columnOf(episodeId);
+
+            for (int characterId : characterIds) {
+                set(rowOf(characterId), column);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addCharacter(int characterId, int[] episodeIds) {
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(characterId);
+
+            for (int episodeId : episodeIds) {
+                set(row, columnOf(episodeId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Vacía la columna del episodio; si vuelve a llegar reutiliza la
+    // misma.
+    public void removeEpisode(int episodeId) {
+        lock.writeLock().lock();
+        try {
+            Integer column = columnById.get(episodeId);
+
+            if (column == null) {
+                return;
+            }
+            long mask = ~(1L << column);
+
+            for (int row = 0; row < characters; row++) {
+                rows[row][column >>> 6] &= mask;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rowById.clear();
+            columnById.clear();
+            characterIds = new int[256];
+            episodeIds = new int[64];
+            rows = new long[256][];
+            characters = 0;
+            episodes = 0;
+            words = 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int characters() {
+        lock.readLock().lock();
+        try {
+            return characters;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int episodes() {
+        lock.readLock().lock();
+        try {
+            return episodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int episodeCount(int characterId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(characterId);
+            return row == null ? 0 : popcount(rows[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int coOccurrences(int characterId, int otherId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(characterId);
+            Integer other = rowById.get(otherId);
+            return row == null || other == null 
+                    ? 0 : intersectionCount(rows[row], rows[other]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids de los episodios en los que aparecen los dos, ordenados.
+    public int[] sharedEpisodes(int characterId, int otherId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(characterId);
+            Integer other = rowById.get(otherId);
+
+            if (row == null || other == null) {
+                return new int[0];
+            }
+            long[] a = rows[row];
+            long[] b = rows[other];
+            int[] result = new int[intersectionCount(a, b)];
+            int count = 0;
+
+            for (int word = 0; word < words; word++) {
+                long bits = a[word] & b[word];
+
+                while (bits != 0) {
+                    result[count++] = episodeIds[word * 64 + 
+                            Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                }
+            }
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Los k personajes que más episodios comparten con characterId, de
+    // más a menos (a igualdad, menor id primero).
+    public List<CoAppearance> topCoStars(int characterId, int k) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(characterId);
+
+            if (row == null || k <= 0) {
+                return List.of();
+            }
+            long[] target = rows[row];
+            PriorityQueue<CoAppearance> top = new PriorityQueue<>(BY_SHARED);
+
+            for (int other = 0; other < characters; other++) {
+                if (other == row) {
+                    continue;
+                }
+                int shared = intersectionCount(target, rows[other]);
+
+                if (shared > 0) {
+                    offer(top, new CoAppearance(characterId, 
+                            characterIds[other], shared), k);
+                }
+            }
+            return sorted(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Los k pares con más episodios en común; cada fila calcula sus pares
+    // con las siguientes en paralelo y los top-k parciales se combinan.
+    public List<CoAppearance> topPairs(int k) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0) {
+                return List.of();
+            }
+            int count = characters;
+            PriorityQueue<CoAppearance> top = IntStream.range(0, count)
+                .parallel()
+                .collect(() -> new PriorityQueue<>(BY_SHARED),
+                    (partial, row) -> {
+                        for (int other = row + 1; other < count; other++) {
+                            int shared = intersectionCount(rows[row], 
+                                    rows[other]);
+
+                            if (shared > 0) {
+                                offer(partial, pair(row, other, shared), k);
+                            }
+                        }
+                    },
+                    (left, right) -> right.forEach(
+                            pair -> offer(left, pair, k)));
+            return sorted(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Matriz completa de episodios compartidos, indexada por la posición
+    // de cada id en el array devuelto por characterIds().
+    public int[][] coOccurrenceCounts() {
+        lock.readLock().lock();
+        try {
+            int count = characters;
+            int[][] counts = new int[count][count];
+
+            IntStream.range(0, count).parallel().forEach(row -> {
+                for (int other = row; other < count; other++) {
+                    counts[row][other] = intersectionCount(rows[row], 
+                            rows[other]);
+                }
+            });
+            for (int row = 0; row < count; row++) {
+                for (int other = 0; other < row; other++) {
+                    counts[row][other] = counts[other][row];
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] characterIds() {
+        lock.readLock().lock();
+        try {
+            return Arrays.copyOf(characterIds, characters);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CoAppearance pair(int row, int other, int shared) {
+        int a = characterIds[row];
+        int b = characterIds[other];
+        return a < b 
+                ? new CoAppearance(a, b, shared) 
+                : new CoAppearance(b, a, shared);
+    }
+
+    private int rowOf(int characterId) {
+        Integer existing = rowById.get(characterId);
+
+        if (existing != null) {
+            return existing;
+        }
+        int row = characters++;
+
+        if (row == rows.length) {
+            rows = Arrays.copyOf(rows, row * 2);
+            characterIds = Arrays.copyOf(characterIds, row * 2);
+        }
+        rows[row] = new long[words];
+        characterIds[row] = characterId;
+        rowById.put(characterId, row);
+        return row;
+    }
+
+    // Al pasar de words * 64 episodios se amplían todas las filas.
+    private int columnOf(int episodeId) {
+        Integer existing = columnById.get(episodeId);
+
+        if (existing != null) {
+            return existing;
+        }
+        int column = episodes++;
+
+        if (column == episodeIds.length) {
+            episodeIds = Arrays.copyOf(episodeIds, column * 2);
+        }
+        if (column >= words * 64) {
+            words *= 2;
+
+            for (int row = 0; row < characters; row++) {
+                rows[row] = Arrays.copyOf(rows[row], words);
+            }
+        }
+        episodeIds[column] = episodeId;
+        columnById.put(episodeId, column);
+        return column;
+    }
+
+    private void set(int row, int column) {
+        rows[row][column >>> 6] |= 1L << column;
+    }
+
+    private static int intersectionCount(long[] a, long[] b) {
+        int count = 0;
+
+        for (int word = 0; word < a.length; word++) {
+            count += Long.bitCount(a[word] & b[word]);
+        }
+        return count;
+    }
+
+    private static int popcount(long[] bits) {
+        int count = 0;
+
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Mantiene en la cola los k mayores: la cabeza es el peor de ellos.
+    private static void offer(PriorityQueue<CoAppearance> top, 
+            CoAppearance candidate, int k) {
+        if (top.size() < k) {
+            top.add(candidate);
+        } else if (BY_SHARED.compare(candidate, top.peek()) > 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    private static List<CoAppearance> sorted(
+            PriorityQueue<CoAppearance> top) {
+        List<CoAppearance> result = new ArrayList<>(top);
+        result.sort(BY_SHARED.reversed());
+        return result;
+    }
+}
@@ -1,7 +1,9 @@
 package aog.rickymortyapp.model;
 
+import aog.rickymortyapp.codegen.GenerateJsonReader;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+@GenerateJsonReader
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record PaginatedResponse<T>(
     Info info,
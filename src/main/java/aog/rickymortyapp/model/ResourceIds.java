@@ -0,0 +1,39 @@
+package aog.rickymortyapp.model;
+
+public final class ResourceIds {
+
+    private ResourceIds() {
+    }
+
+    // Extrae el id numérico final de URLs como .../api/character/123.
+    // Devuelve -1 si la URL no termina en un id válido.
+    public static int parse(String url) {
+        if (url == null) {
+            return -1;
+        }
+        int end = url.length();
+
+        while (end > 0 && (url.charAt(end - 1) == '/' ||
+                Character.isWhitespace(url.charAt(end - 1)))) {
+            end--;
+        }
+        int start = end;
+
+        // Solo dígitos ASCII: Character.isDigit() acepta otros (U+0663…)
+        // que c - '0' convertiría en ids erróneos.
+        while (start > 0 && url.charAt(start - 1) >= '0' && 
+                url.charAt(start - 1) <= '9') {
+            start--;
+        }
+        if (start == end || end - start > 9 ||
+                (start > 0 && url.charAt(start - 1) != '/')) {
+            return -1;
+        }
+        int id = 0;
+
+        for (int i = start; i < end; i++) {
+            id = id * 10 + (url.charAt(i) - '0');
+        }
+        return id > 0 ? id : -1;
+    }
+}
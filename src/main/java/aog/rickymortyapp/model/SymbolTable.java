@@ -0,0 +1,50 @@
+package aog.rickymortyapp.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Diccionario compartido para campos de baja cardinalidad (status, species,
+// gender). Cada valor distinto recibe un código de 1 byte; el 0 representa
+// null y NO_CODE indica que la tabla está llena.
+public final class SymbolTable {
+    public static final int NO_CODE = -1;
+    private static final int MAX_SYMBOLS = 255;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final String[] symbols = new String[MAX_SYMBOLS + 1];
+    private int size;
+
+    public synchronized int encode(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+
+        if (code != null) {
+            return code;
+        }
+        if (size == MAX_SYMBOLS) {
+            return NO_CODE;
+        }
+        size++;
+        symbols[size] = value;
+        codes.put(value, size);
+        return size;
+    }
+
+    // Como encode() pero sin registrar valores nuevos.
+    public synchronized int codeOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return codes.getOrDefault(value, NO_CODE);
+    }
+
+    public synchronized String decode(byte code) {
+        return symbols[code & 0xFF];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -1,11 +1,17 @@
 package aog.rickymortyapp.service;
 
+import aog.rickymortyapp.metrics.Endpoint;
+import aog.rickymortyapp.metrics.HistogramSnapshot;
+import aog.rickymortyapp.metrics.HttpMetrics;
 import aog.rickymortyapp.model.Charac;
 import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.Info;
 import aog.rickymortyapp.model.PaginatedResponse;
+import aog.rickymortyapp.model.ResourceIds;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -14,52 +20,325 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
-public class ApiService {
-    private static final String BASE_URL = "https://rickandmortyapi.com/api";
+public class ApiService implements AutoCloseable {
+    public static final String DEFAULT_BASE_URL = 
+            "https://rickandmortyapi.com/api";
+    public static final String BASE_URL_PROPERTY = "rickymorty.api.baseUrl";
+    public static final int DEFAULT_MAX_IDS_PER_CALL = 50;
+    public static final int DEFAULT_PAGES_AHEAD = 3;
+    // Tamaño de página fijo de /character?page=N y /episode?page=N en la
+    // API.
+    public static final int CHARACTER_PAGE_SIZE = 20;
+    public static final int EPISODE_PAGE_SIZE = 20;
+    private static final String PLACEHOLDER_NAME = "Personaje no disponible #";
+    private final String baseUrl;
     private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
-    private final Executor executor;
+    private final TransportMode transportMode;
+    private final ExecutorService clientExecutor;
+    private final ModelReaders readers;
+    private final ExecutorService executor;
+    private final CharacterCache characterCache;
+    private final BatchCharacterResolver batchResolver;
+    private final RetryPolicy retryPolicy;
+    private final RequestGovernor governor;
+    private final HttpMetrics metrics = new HttpMetrics();
+    private final HedgingPolicy hedging = HedgingPolicy.fromSystemProperty();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.defaults();
+    private volatile boolean batchFetching = true;
+    private volatile DecodeMode decodeMode = DecodeMode.fromSystemProperty();
+    private volatile JsonReaderMode jsonReaderMode = 
+            JsonReaderMode.fromSystemProperty();
+    private volatile int maxIdsPerCall = DEFAULT_MAX_IDS_PER_CALL;
 
     public ApiService() {
-        this.httpClient = HttpClient.newBuilder()
+        this(CharacterCache.shared());
+    }
+
+    public ApiService(CharacterCache characterCache) {
+        this(characterCache, Executors.newFixedThreadPool(10));
+    }
+
+    public ApiService(CharacterCache characterCache, ExecutorService executor) {
+        this(characterCache, executor, RetryPolicy.defaults());
+    }
+
+    public ApiService(CharacterCache characterCache, ExecutorService executor,
+            RetryPolicy retryPolicy) {
+        this(characterCache, executor, retryPolicy, RequestGovernor.shared());
+    }
+
+    public ApiService(CharacterCache characterCache, ExecutorService executor,
+            RetryPolicy retryPolicy, RequestGovernor governor) {
+        this(baseUrlFromSystemProperty(), characterCache, executor, 
+                retryPolicy, governor);
+    }
+
+    public ApiService(String baseUrl, CharacterCache characterCache, 
+            ExecutorService executor, RetryPolicy retryPolicy, 
+            RequestGovernor governor) {
+        this(baseUrl, characterCache, executor, retryPolicy, governor, 
+                TransportMode.fromSystemProperty());
+    }
+
+    public ApiService(String baseUrl, CharacterCache characterCache, 
+            ExecutorService executor, RetryPolicy retryPolicy, 
+            RequestGovernor governor, TransportMode transportMode) {
+        this.baseUrl = baseUrl.endsWith("/") 
+                ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.characterCache = characterCache;
+        this.retryPolicy = retryPolicy;
+        this.governor = governor;
+        this.transportMode = transportMode;
+
+        if (transportMode == TransportMode.TUNED) {
+            this.clientExecutor = newClientExecutor();
+            this.httpClient = newTunedClient(clientExecutor);
+        } else {
+            this.clientExecutor = null;
+            this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        }
+        this.readers = new ModelReaders(new ObjectMapper(), 
+                () -> jsonReaderMode == JsonReaderMode.GENERATED, 
+                metrics::recordReaderFallback);
+        this.executor = executor;
+        this.batchResolver = new BatchCharacterResolver(characterCache,
+                this::getCharactersByIds, this::getCharacterWithRetry,
+                ApiService::fallbackCharacter);
+    }
+
+    // HTTP/2 explícito para que las peticiones de personajes se multiplexen
+    // sobre pocas conexiones (por TLS se negocia con ALPN; en claro se
+    // intenta h2c y, si el servidor no lo acepta, se sigue en HTTP/1.1).
+    // El executor es propio y de tamaño fijo: en él corren las tareas
+    // internas del cliente y la decodificación en streaming.
+    private static HttpClient newTunedClient(ExecutorService clientExecutor) {
+        TransportMode.applyConnectionPoolSettings();
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
             .connectTimeout(Duration.ofSeconds(10))
+            .executor(clientExecutor)
             .build();
-        this.objectMapper = new ObjectMapper();
-        this.executor = Executors.newFixedThreadPool(10);
+    }
+
+    private static ExecutorService newClientExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(TransportMode.threads(), 
+                task -> {
+                    Thread thread = new Thread(task, 
+                            "http-client-" + sequence.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // -Drickymorty.api.baseUrl=http://localhost:8080/api apunta la
+    // aplicación a otro servidor, por ejemplo uno local de pruebas.
+    public static String baseUrlFromSystemProperty() {
+        String configured = System.getProperty(BASE_URL_PROPERTY);
+        return configured == null || configured.isBlank() 
+                ? DEFAULT_BASE_URL : configured.trim();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public TransportMode getTransportMode() {
+        return transportMode;
+    }
+
+    public void setBatchFetching(boolean batchFetching) {
+        this.batchFetching = batchFetching;
+    }
+
+    public void setDecodeMode(DecodeMode decodeMode) {
+        this.decodeMode = decodeMode;
+    }
+
+    public void setJsonReaderMode(JsonReaderMode jsonReaderMode) {
+        this.jsonReaderMode = jsonReaderMode;
+    }
+
+    // Recibe un mensaje por cada reintento programado.
+    public void setRetryListener(Consumer<String> listener) {
+        retryPolicy.setOnRetry(listener);
+    }
+
+    public void setHedging(boolean enabled) {
+        hedging.setEnabled(enabled);
+    }
+
+    public boolean isBatchFetching() {
+        return batchFetching;
+    }
+
+    public int getMaxIdsPerCall() {
+        return maxIdsPerCall;
+    }
+
+    public CharacterCache getCharacterCache() {
+        return characterCache;
+    }
+
+    public void setMaxIdsPerCall(int maxIdsPerCall) {
+        if (maxIdsPerCall <= 0) {
+            throw new IllegalArgumentException(
+                    "maxIdsPerCall must be positive: " + maxIdsPerCall);
+        }
+        this.maxIdsPerCall = maxIdsPerCall;
     }
 
     public CompletableFuture<PaginatedResponse<Episode>> getEpisodes(int page) {
-        HttpRequest request = HttpRequest.newBuilder()
-            .GET()
-            .uri(URI.create(BASE_URL + "/episode?page=" + page))
-            .timeout(Duration.ofSeconds(30))
-            .header("Accept", "application/json")
-            .build();
+        return retryPolicy.execute("episode page " + page, 
+                () -> fetchPage("episode", page, readers.episodePage, 
+                        Endpoint.EPISODES), executor);
+    }
+
+    public CompletableFuture<PaginatedResponse<Charac>> getCharacterPage(
+            int page) {
+        return retryPolicy.execute("character page " + page, 
+                () -> fetchPage("character", page, readers.characterPage, 
+                        Endpoint.CHARACTER_PAGES), executor);
+    }
+
+    private <T> CompletableFuture<PaginatedResponse<T>> fetchPage(
+            String resource, int page, 
+            ResponseReader<PaginatedResponse<T>> reader, Endpoint endpoint) {
+        HttpRequest request = newRequest(URI.create(baseUrl + "/" + 
+                resource + "?page=" + page)).build();
+
+        return fetchJson(request, reader, resource + " page " + page, 
+                RequestPriority.NORMAL, endpoint);
+    }
+
+    private PaginatedResponse<Episode> parseEpisodePage(String body, int page) {
+        try {
+            return readers.episodePage.read(body);
+        } catch (IOException ex) {
+            throw new RuntimeException(
+                    "Error parsing episodes from page " + page, ex);
+        }
+    }
+
+    // Con DecodeMode.STREAMING (por defecto) el JSON se lee en el executor
+    // directamente del InputStream del cuerpo según llega; con STRING el
+    // cuerpo se recibe entero como String y después se decodifica.
+    private <T> CompletableFuture<T> fetchJson(HttpRequest request, 
+            ResponseReader<T> reader, String description, 
+            RequestPriority priority, Endpoint endpoint) {
+        CompletableFuture<T> result = decodeMode == DecodeMode.STREAMING
+                ? decodeStreaming(request, reader, description, priority, 
+                        endpoint)
+                : decodeString(request, reader, description, priority, 
+                        endpoint);
+        return result.whenComplete((value, ex) -> {
+            if (ex != null) {
+                metrics.recordFailure(ex);
+            }
+        });
+    }
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+    private <T> CompletableFuture<T> decodeStreaming(HttpRequest request, 
+            ResponseReader<T> reader, String description, 
+            RequestPriority priority, Endpoint endpoint) {
+        return send(request, JsonBodyHandlers.ofJson(), priority, endpoint)
             .thenApplyAsync(response -> {
-                
-                if (response.statusCode() != 200) {
-                    throw new RuntimeException("HTTP Error: " + 
-                            response.statusCode() + 
-                        " - Response: " + response.body());
+                checkStatus(response, request, description);
+
+                try (InputStream body = response.body()) {
+                    return reader.read(body);
+                } catch (JsonProcessingException ex) {
+                    throw new RuntimeException(
+                            "Error parsing " + description, ex);
+                } catch (IOException ex) {
+                    // Fallo de red a mitad del cuerpo: RetryPolicy lo
+                    // reintenta como cualquier IOException.
+                    throw new CompletionException(ex);
                 }
+            }, executor);
+    }
+
+    private <T> CompletableFuture<T> decodeString(HttpRequest request, 
+            ResponseReader<T> reader, String description, 
+            RequestPriority priority, Endpoint endpoint) {
+        return send(request, HttpResponse.BodyHandlers.ofString(), priority, 
+                endpoint)
+            .thenApplyAsync(response -> {
+                checkStatus(response, request, description);
                 
                 try {
-                    return objectMapper.readValue(
-                            response.body(), 
-                        new TypeReference<PaginatedResponse<Episode>>() {});
-                } catch (JsonProcessingException ex) {
+                    return reader.read(response.body());
+                } catch (IOException ex) {
                     throw new RuntimeException(
-                            "Error parsing episodes from page " + page, 
-                            ex);
+                            "Error parsing " + description, ex);
                 }
             }, executor);
     }
 
+    private static void checkStatus(HttpResponse<?> response, 
+            HttpRequest request, String description) {
+        if (response.statusCode() == 429) {
+            throw HttpStatusException.of(response,
+                    "Rate limit exceeded (429) for URL: " + request.uri());
+        }
+        if (response.statusCode() != 200) {
+            throw HttpStatusException.of(response, "HTTP Error " + 
+                    response.statusCode() + " loading " + description + 
+                    " (" + request.uri() + ")");
+        }
+    }
+
+    // Pide una página de episodios condicional si hay ETag: con 304 la
+    // respuesta no trae cuerpo y ConditionalPage.page() es null.
+    public CompletableFuture<ConditionalPage<Episode>> getEpisodesIfChanged(
+            int page, String etag) {
+        return retryPolicy.execute("episode page " + page + " if changed", 
+                () -> fetchPageIfChanged(page, etag), executor);
+    }
+
+    private CompletableFuture<ConditionalPage<Episode>> fetchPageIfChanged(
+            int page, String etag) {
+        HttpRequest.Builder builder = newRequest(URI.create(baseUrl + 
+                "/episode?page=" + page));
+
+        if (etag != null && !etag.isEmpty()) {
+            builder.header("If-None-Match", etag);
+        }
+        return send(builder.build(), HttpResponse.BodyHandlers.ofString(),
+                RequestPriority.NORMAL, Endpoint.EPISODES)
+            .thenApplyAsync(response -> {
+                String currentEtag = response.headers().firstValue("ETag")
+                        .orElse(null);
+
+                if (response.statusCode() == 304) {
+                    return new ConditionalPage<Episode>(null, 
+                            currentEtag != null ? currentEtag : etag);
+                }
+                if (response.statusCode() != 200) {
+                    throw HttpStatusException.of(response, "HTTP Error: " + 
+                            response.statusCode() + 
+                        " - Response: " + response.body());
+                }
+                return new ConditionalPage<>(
+                        parseEpisodePage(response.body(), page), currentEtag);
+            }, executor)
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    metrics.recordFailure(ex);
+                }
+            });
+    }
+
     public CompletableFuture<List<Episode>> getAllEpisodes() {
         return getEpisodes(1)
             .thenComposeAsync(firstPage -> {
@@ -90,74 +369,266 @@ public class ApiService {
             }, executor);
     }
 
+    // Emite los episodios según llegan sus páginas; la demanda del
+    // subscriber limita cuántas páginas se piden por adelantado.
+    public Flow.Publisher<Episode> publishEpisodes() {
+        return publishEpisodes(DEFAULT_PAGES_AHEAD, null);
+    }
+
+    public Flow.Publisher<Episode> publishEpisodes(int pagesAhead, 
+            Consumer<Info> onInfo) {
+        return publishPages(this::getEpisodes, pagesAhead, onInfo);
+    }
+
+    // Igual, pero la página 1 se pide como en getEpisodesIfChanged y
+    // onFirstEtag recibe su ETag (null si el servidor no lo envía) antes
+    // que onInfo: un refresco posterior puede ser condicional.
+    public Flow.Publisher<Episode> publishEpisodes(int pagesAhead, 
+            Consumer<Info> onInfo, Consumer<String> onFirstEtag) {
+        return publishPages(page -> page != 1 ? getEpisodes(page) 
+                : getEpisodesIfChanged(page, null).thenApply(first -> {
+                    onFirstEtag.accept(first.etag());
+                    return first.page();
+                }), pagesAhead, onInfo);
+    }
+
+    public Flow.Publisher<Charac> publishCharacters(int pagesAhead, 
+            Consumer<Info> onInfo) {
+        return publishPages(this::getCharacterPage, pagesAhead, onInfo);
+    }
+
+    // Recorre cualquier recurso paginado de la API. Con demanda ilimitada,
+    // en cuanto la página 1 da Info.pages se piden por adelantado hasta
+    // pagesAhead páginas a la vez.
+    public <T> Flow.Publisher<T> publishPages(
+            IntFunction<CompletableFuture<PaginatedResponse<T>>> pageFetcher,
+            int pagesAhead, Consumer<Info> onInfo) {
+        return new PagePublisher<>(pageFetcher, pagesAhead, onInfo);
+    }
+
+    // Descarga el catálogo completo de personajes página a página y lo
+    // deja en la caché; devuelve cuántos personajes se guardaron. Las
+    // peticiones por id posteriores se resuelven desde la caché.
+    public CompletableFuture<Integer> syncCharacterCatalog(int pagesAhead) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        
+        publishCharacters(pagesAhead, null).subscribe(
+                new Flow.Subscriber<Charac>() {
+            private int stored;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Charac character) {
+                characterCache.put(character);
+                stored++;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(stored);
+            }
+        });
+        return result;
+    }
+
     public CompletableFuture<Charac> getCharacter(String url) {
-        return getCharacterWithRetry(url, 3, 1000);
+        return getCharacter(url, RequestPriority.NORMAL);
     }
 
-    private CompletableFuture<Charac> getCharacterWithRetry(String url, 
-            int maxRetries, long delayMs) {
-        if (url == null || url.trim().isEmpty()) {
-            return CompletableFuture.failedFuture(
-                new IllegalArgumentException("URL cannot be null or empty"));
+    public CompletableFuture<Charac> getCharacter(String url, 
+            RequestPriority priority) {
+        int id = ResourceIds.parse(url);
+
+        if (id < 0) {
+            return getCharacterWithRetry(url, priority);
         }
+        return characterCache.get(id, 
+                ignored -> getCharacterWithRetry(url, priority));
+    }
+
+    public CacheStats getCharacterCacheStats() {
+        return characterCache.stats();
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
+    public long getRetryCount() {
+        return retryPolicy.retries();
+    }
+
+    public LatencyStats getRequestLatencyStats() {
+        HistogramSnapshot all = metrics.allRequests();
+        return new LatencyStats(all.count(), all.p50Nanos(), all.p99Nanos(), 
+                all.maxNanos());
+    }
+
+    public HttpMetrics getHttpMetrics() {
+        return metrics;
+    }
+
+    public GovernorStats getGovernorStats() {
+        return governor.stats();
+    }
+
+    public ResilienceStats getResilienceStats() {
+        return new ResilienceStats(hedging.hedges(), hedging.wins(), 
+                circuitBreaker.state(), circuitBreaker.openings(), 
+                circuitBreaker.rejected());
+    }
+
+    // Personaje provisional para cuando el circuito está abierto y no hay
+    // copia en caché (las que sí están se sirven desde la caché sin llegar
+    // a pedirse).
+    public static Charac placeholderCharacter(int id) {
+        return new Charac(id, PLACEHOLDER_NAME + id, "unknown", "unknown", 
+                "unknown", null, new String[0]);
+    }
+
+    public static boolean isPlaceholder(Charac character) {
+        return character != null && character.image() == null && 
+                (PLACEHOLDER_NAME + character.id()).equals(character.name());
+    }
+
+    // null si el fallo no se debe al circuito abierto.
+    private static Charac fallbackCharacter(String url, Throwable failure) {
+        int id = ResourceIds.parse(url);
+
+        if (id <= 0 || !(CharacterCache.unwrap(failure) 
+                instanceof CircuitOpenException)) {
+            return null;
+        }
+        return placeholderCharacter(id);
+    }
+
+    private HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
             .GET()
-            .uri(URI.create(url.trim()))
+            .uri(uri)
             .timeout(Duration.ofSeconds(30))
-            .header("Accept", "application/json")
-            .build();
+            .header("Accept", "application/json");
 
-        return httpClient.sendAsync(request, 
-                HttpResponse.BodyHandlers.ofString())
-            .thenApplyAsync(response -> {
-                
-                if (response.statusCode() == 429) {
-                    throw new RuntimeException(
-                            "Rate limit exceeded (429) for URL: " + url);
-                }
-                if (response.statusCode() != 200) {
-                    System.err.println("HTTP Error " + response.statusCode() + 
-                        " for character URL: " + url);
-                    return new Charac(0, "Error loading character (HTTP " + 
-                            response.statusCode() + ")", 
-                        "unknown", "unknown", "unknown", "", new String[0]);
-                }
-                
-                try {
-                    return objectMapper.readValue(response.body(), Charac.class);
-                } catch (JsonProcessingException ex) {
-                    System.err.println("Error parsing character from URL " + url + 
-                        ": " + ex.getMessage());
-                    return new Charac(0, "Error parsing character", 
-                        "unknown", "unknown", "unknown", "", new String[0]);
+        if (transportMode == TransportMode.TUNED) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+        return builder;
+    }
+
+    // La petición puede duplicarse según la HedgingPolicy. Las copias
+    // también pasan por el RequestGovernor y cuentan para el circuito.
+    private <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request,
+            HttpResponse.BodyHandler<T> handler, RequestPriority priority,
+            Endpoint endpoint) {
+        return hedging.execute(endpoint, onSent -> sendOnce(request, handler, 
+                priority, endpoint, onSent), executor);
+    }
+
+    // Cada intento, original o copia, pide paso al circuito: abierto falla
+    // al momento, y en HALF_OPEN solo sale la petición de prueba, nunca su
+    // copia.
+    private <T> CompletableFuture<HttpResponse<T>> sendOnce(
+            HttpRequest request, HttpResponse.BodyHandler<T> handler, 
+            RequestPriority priority, Endpoint endpoint, Runnable onSent) {
+        long permit = circuitBreaker.tryAcquire();
+
+        if (permit == CircuitBreaker.REJECTED) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(
+                    "Circuit breaker open, request not sent: " + 
+                    request.uri()));
+        }
+        long queued = System.nanoTime();
+        
+        return governor.submit(() -> {
+            long start = System.nanoTime();
+            metrics.recordGovernorWait(start - queued);
+            metrics.requestStarted(endpoint);
+            CompletableFuture<HttpResponse<T>> sent = httpClient.sendAsync(
+                    request, EncodedBodyHandlers.decoding(handler, 
+                            metrics::recordBody)).whenComplete(
+                    (response, ex) -> {
+                        long nanos = System.nanoTime() - start;
+                        metrics.requestFinished(endpoint, nanos, 
+                                response != null ? response.statusCode() : -1);
+                        circuitBreaker.record(permit, response != null && 
+                                response.statusCode() < 500);
+
+                        if (response != null) {
+                            metrics.recordVersion(response.version());
+                            hedging.record(endpoint, nanos);
+                        }
+                    });
+            onSent.run();
+            return sent;
+        }, priority);
+    }
+
+    private CompletableFuture<Charac> getCharacterWithRetry(String url, 
+            RequestPriority priority) {
+        if (url == null || url.trim().isEmpty()) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("URL cannot be null or empty"));
+        }
+        return retryPolicy.execute(url, () -> fetchCharacter(url, priority), 
+                executor)
+            .whenComplete((character, throwable) -> {
+                if (throwable != null) {
+                    System.err.println("Error final para " + url + ": " + 
+                            CharacterCache.unwrap(throwable).getMessage());
                 }
-            }, executor)
-            .exceptionally(throwable -> {
-                
-                if (throwable.getMessage().contains("Rate limit") && 
-                        maxRetries > 0) {
-                    try {
-                        Thread.sleep(delayMs);
-                        System.out.println("Reintentando petición para: " + url + 
-                            " (intentos restantes: " + maxRetries + ")");
-                        return getCharacterWithRetry(url, maxRetries - 1, 
-                                delayMs * 2).join();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return new Charac(0, "Request interrupted", 
-                            "unknown", "unknown", "unknown", "", new String[0]);
-                    }
-                } 
-                System.err.println("Error final para " + url + ": " + 
-                        throwable.getMessage());
-                return new Charac(0, "Error loading character", 
-                    "unknown", "unknown", "unknown", "", new String[0]);
             });
     }
 
+    private CompletableFuture<Charac> fetchCharacter(String url, 
+            RequestPriority priority) {
+        HttpRequest request = newRequest(URI.create(url.trim())).build();
+
+        return this.<Charac>fetchJson(request, readers.character, 
+                "character " + url, priority, Endpoint.CHARACTER);
+    }
+
+    public CompletableFuture<Charac[]> getCharactersByIds(List<Integer> ids) {
+        return getCharactersByIds(ids, RequestPriority.NORMAL);
+    }
+
+    public CompletableFuture<Charac[]> getCharactersByIds(List<Integer> ids, 
+            RequestPriority priority) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(new Charac[0]);
+        }
+        StringBuilder path = new StringBuilder(baseUrl).append("/character/");
+
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                path.append(',');
+            }
+            path.append(ids.get(i));
+        }
+        String url = path.toString();
+        return retryPolicy.execute(url, () -> fetchCharacters(url, priority), 
+                executor);
+    }
+
+    private CompletableFuture<Charac[]> fetchCharacters(String url, 
+            RequestPriority priority) {
+        HttpRequest request = newRequest(URI.create(url)).build();
+
+        return this.<Charac[]>fetchJson(request, readers.characterArray, 
+                "characters " + url, priority, Endpoint.CHARACTERS);
+    }
+
     public CompletableFuture<List<Charac>> getMultipleCharacters(
             List<String> urls) {
+        return getMultipleCharacters(urls, RequestPriority.NORMAL);
+    }
+
+    public CompletableFuture<List<Charac>> getMultipleCharacters(
+            List<String> urls, RequestPriority priority) {
         
         if (urls == null || urls.isEmpty()) {
             return CompletableFuture.completedFuture(new ArrayList<>());
@@ -174,51 +645,52 @@ public class ApiService {
         if (validUrls.isEmpty()) {
             return CompletableFuture.completedFuture(new ArrayList<>());
         }
-        return processCharactersInBatches(validUrls, 3); 
+        if (batchFetching) {
+            return batchResolver.resolve(validUrls, maxIdsPerCall, priority);
+        }
+        return processCharactersIndividually(validUrls, priority); 
     }
 
+    // El ritmo lo marca el RequestGovernor, así que ya no hacen falta
+    // grupos fijos ni pausas entre ellos.
     private CompletableFuture<List<Charac>> 
-        processCharactersInBatches(List<String> urls, int batchSize) {
-        List<Charac> allCharacters = new ArrayList<>();
+        processCharactersIndividually(List<String> urls, 
+                RequestPriority priority) {
+        List<CompletableFuture<Charac>> futures = new ArrayList<>(urls.size());
         
-        return CompletableFuture.supplyAsync(() -> {
-            
-            for (int i = 0; i < urls.size(); i += batchSize) {
-                int endIndex = Math.min(i + batchSize, urls.size());
-                List<String> batch = urls.subList(i, endIndex);
-                List<CompletableFuture<Charac>> batchFutures = new ArrayList<>();
-               
-                for (String url : batch) {
-                    batchFutures.add(getCharacter(url));
-                }
-
-                try {
-                    CompletableFuture.allOf(batchFutures.toArray
-        (new CompletableFuture[0])).join();
-                    
-                    for (CompletableFuture<Charac> future : batchFutures) {
-                        try {
-                            Charac character = future.join();
-                            if (character != null && character.id() > 0) {
-                                allCharacters.add(character);
-                            }
-                        } catch (Exception ex) {
-                            System.err.println("Error getting character in batch: " 
-                                    + ex.getMessage());
+        for (String url : urls) {
+            futures.add(getCharacter(url, priority).exceptionallyCompose(ex -> {
+                Charac fallback = fallbackCharacter(url, ex);
+                return fallback != null 
+                        ? CompletableFuture.completedFuture(fallback) 
+                        : CompletableFuture.failedFuture(ex);
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .handle((ignored, ex) -> {
+                List<Charac> allCharacters = new ArrayList<>(futures.size());
+                
+                for (CompletableFuture<Charac> future : futures) {
+                    try {
+                        Charac character = future.join();
+                        if (character != null && character.id() > 0) {
+                            allCharacters.add(character);
                         }
+                    } catch (Exception error) {
+                        System.err.println("Error getting character: " 
+                                + error.getMessage());
                     }
-                    if (endIndex < urls.size()) {
-                        Thread.sleep(500); 
-                    }
-                    
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (Exception e) {
-                    System.err.println("Error processing batch: " + e.getMessage());
                 }
-            }
-            return allCharacters;
-        }, executor);
+                return allCharacters;
+            });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+
+        if (clientExecutor != null) {
+            clientExecutor.shutdown();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.ResourceIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+// Resuelve las URLs de Episode.characters() agrupando los ids en
+// peticiones /character/{id,id,...}. Los ids ya cacheados o en vuelo no
+// se vuelven a pedir. Si una petición múltiple falla con un 4xx o una
+// respuesta ilegible se recurre a la ruta de una URL por petición; ante
+// errores de red, 429 o 5xx (ya reintentados por RetryPolicy) los ids del
+// lote fallan sin más, porque pedirlos uno a uno solo multiplicaría la
+// carga sobre una API que ya no responde. Los personajes que fallan se
+// cambian por lo que devuelva fallback, o se omiten si devuelve null.
+class BatchCharacterResolver {
+    private final CharacterCache cache;
+    private final BiFunction<List<Integer>, RequestPriority,
+            CompletableFuture<Charac[]>> batchFetcher;
+    private final BiFunction<String, RequestPriority,
+            CompletableFuture<Charac>> singleFetcher;
+    private final BiFunction<String, Throwable, Charac> fallback;
+
+    BatchCharacterResolver(CharacterCache cache,
+            BiFunction<List<Integer>, RequestPriority,
+                    CompletableFuture<Charac[]>> batchFetcher,
+            BiFunction<String, RequestPriority,
+                    CompletableFuture<Charac>> singleFetcher,
+            BiFunction<String, Throwable, Charac> fallback) {
+        this.cache = cache;
+        this.batchFetcher = batchFetcher;
+        this.singleFetcher = singleFetcher;
+        this.fallback = fallback;
+    }
+
+    CompletableFuture<List<Charac>> resolve(List<String> urls,
+            int maxIdsPerCall, RequestPriority priority) {
+        List<CompletableFuture<Charac>> futures = new ArrayList<>(urls.size());
+        Map<Integer, String> owned = new HashMap<>();
+        List<Integer> toFetch = new ArrayList<>();
+
+        for (String url : urls) {
+            int id = ResourceIds.parse(url);
+
+            if (id < 0) {
+                futures.add(singleFetcher.apply(url, priority));
+                continue;
+            }
+            CharacterCache.Reservation reservation = cache.reserve(id);
+
+            if (reservation.owner()) {
+                owned.put(id, url);
+                toFetch.add(id);
+            }
+            futures.add(reservation.future());
+        }
+
+        for (int i = 0; i < toFetch.size(); i += maxIdsPerCall) {
+            List<Integer> chunk = List.copyOf(toFetch.subList(i,
+                    Math.min(i + maxIdsPerCall, toFetch.size())));
+            fetchChunk(chunk, owned, priority);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .handle((ignored, ex) -> {
+                List<Charac> characters = new ArrayList<>(futures.size());
+
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        Charac character = futures.get(i).join();
+
+                        if (character != null && character.id() > 0) {
+                            characters.add(character);
+                        }
+                    } catch (Exception error) {
+                        Charac substitute = fallback.apply(urls.get(i), error);
+
+                        if (substitute != null) {
+                            characters.add(substitute);
+                            continue;
+                        }
+                        System.err.println("Error getting character in batch: "
+                                + CharacterCache.unwrap(error).getMessage());
+                    }
+                }
+                return characters;
+            });
+    }
+
+    private void fetchChunk(List<Integer> chunk, Map<Integer, String> urls,
+            RequestPriority priority) {
+        CompletableFuture<Charac[]> request;
+
+        try {
+            request = batchFetcher.apply(chunk, priority);
+        } catch (RuntimeException ex) {
+            request = CompletableFuture.failedFuture(ex);
+        }
+        request.whenComplete((results, ex) -> {
+            if (ex != null) {
+                if (!splitsIntoSingles(ex)) {
+                    System.err.println("Error in multi-id request " + chunk +
+                            ": " + CharacterCache.unwrap(ex).getMessage());
+
+                    for (Integer id : chunk) {
+                        cache.fail(id, ex);
+                    }
+                    return;
+                }
+                System.err.println("Error in multi-id request " + chunk +
+                        ", falling back to single requests: " +
+                        CharacterCache.unwrap(ex).getMessage());
+
+                for (Integer id : chunk) {
+                    singleFetcher.apply(urls.get(id), priority).whenComplete(
+                        (character, singleEx) -> {
+                            if (singleEx == null) {
+                                cache.complete(id, character);
+                            } else {
+                                cache.fail(id, singleEx);
+                            }
+                        });
+                }
+                return;
+            }
+            Map<Integer, Charac> byId = new HashMap<>();
+
+            for (Charac character : results) {
+                if (character != null) {
+                    byId.put(character.id(), character);
+                }
+            }
+
+            for (Integer id : chunk) {
+                Charac character = byId.get(id);
+
+                if (character != null) {
+                    cache.complete(id, character);
+                } else {
+                    cache.fail(id, new HttpStatusException(404,
+                            "Character " + id +
+                            " missing from multi-id response"));
+                }
+            }
+        });
+    }
+
+    // Un 4xx o un cuerpo que no se puede leer pueden deberse a un solo id
+    // del lote; lo demás afectaría igual a las peticiones individuales.
+    private static boolean splitsIntoSingles(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException statusEx) {
+                return statusEx.isPermanent();
+            }
+            if (cause instanceof JsonProcessingException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
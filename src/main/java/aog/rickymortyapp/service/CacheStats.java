@@ -0,0 +1,22 @@
+package aog.rickymortyapp.service;
+
+public record CacheStats(
+    long hits,
+    long misses,
+    long coalesced,
+    long negativeHits,
+    long evictions,
+    int size
+) {
+    public long requestsSaved() {
+        return hits + coalesced + negativeHits;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses +
+                ", coalesced=" + coalesced + ", negativeHits=" +
+                negativeHits + ", evictions=" + evictions +
+                ", size=" + size;
+    }
+}
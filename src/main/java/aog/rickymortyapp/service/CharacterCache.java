@@ -0,0 +1,263 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.model.Charac;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Caché de personajes compartida por todo el proceso. Las peticiones
+// concurrentes del mismo id comparten un único CompletableFuture en vuelo,
+// las entradas se expulsan por LRU y los 404 (y demás 4xx salvo 429) y
+// los errores de parseo se recuerdan como negativos para no volver a
+// pedirlos. Un cuerpo truncado llega como IOException del transporte, no
+// como error de parseo, así que esos se reintentan; el negativo por
+// parseo caduca a los PARSE_FAILURE_TTL por si la API corrige el registro.
+public class CharacterCache {
+    public static final int DEFAULT_MAX_ENTRIES = 2048;
+    static final Duration PARSE_FAILURE_TTL = Duration.ofMinutes(5);
+    private static final CharacterCache SHARED =
+            new CharacterCache(DEFAULT_MAX_ENTRIES);
+
+    private final int maxEntries;
+    private final LinkedHashMap<Integer, Entry> entries;
+    private final ConcurrentHashMap<Integer, CompletableFuture<Charac>> inFlight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // ttlNanos 0: la entrada no caduca.
+    private record Entry(Charac value, Throwable failure, long storedAtNanos, 
+            long ttlNanos) {
+        Entry(Charac value) {
+            this(value, null, 0, 0);
+        }
+
+        boolean expired(long nowNanos) {
+            return ttlNanos > 0 && nowNanos - storedAtNanos >= ttlNanos;
+        }
+
+        CompletableFuture<Charac> toFuture() {
+            return failure == null
+                    ? CompletableFuture.completedFuture(value)
+                    : CompletableFuture.failedFuture(failure);
+        }
+    }
+
+    public record Reservation(CompletableFuture<Charac> future, 
+            boolean owner) {}
+
+    public CharacterCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(
+                    "maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> e) {
+                if (size() > CharacterCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    public static CharacterCache shared() {
+        return SHARED;
+    }
+
+    public CompletableFuture<Charac> get(int id,
+            IntFunction<CompletableFuture<Charac>> loader) {
+        Reservation reservation = reserve(id);
+
+        if (!reservation.owner()) {
+            return reservation.future();
+        }
+        CompletableFuture<Charac> load;
+
+        try {
+            load = loader.apply(id);
+        } catch (RuntimeException ex) {
+            load = CompletableFuture.failedFuture(ex);
+        }
+        load.whenComplete((character, ex) -> {
+            if (ex == null) {
+                complete(id, character);
+            } else {
+                fail(id, ex);
+            }
+        });
+        return reservation.future();
+    }
+
+    // Si owner() es true quien reserva debe cerrar la entrada con
+    // complete() o fail(); en otro caso el futuro ya está resuelto o
+    // lo está cargando otra petición.
+    public Reservation reserve(int id) {
+        CompletableFuture<Charac> cached = lookup(id);
+
+        if (cached != null) {
+            return new Reservation(cached, false);
+        }
+        CompletableFuture<Charac> created = new CompletableFuture<>();
+        CompletableFuture<Charac> existing = inFlight.putIfAbsent(id, created);
+
+        if (existing != null) {
+            coalesced.increment();
+            return new Reservation(existing.copy(), false);
+        }
+        cached = lookup(id);
+
+        if (cached != null) {
+            inFlight.remove(id, created);
+            cached.whenComplete((character, ex) -> {
+                if (ex == null) {
+                    created.complete(character);
+                } else {
+                    created.completeExceptionally(unwrap(ex));
+                }
+            });
+            return new Reservation(cached, false);
+        }
+        misses.increment();
+        return new Reservation(created.copy(), true);
+    }
+
+    public void complete(int id, Charac character) {
+        CompletableFuture<Charac> target = inFlight.get(id);
+
+        if (target != null) {
+            settle(id, target, character, null);
+        }
+    }
+
+    public void fail(int id, Throwable ex) {
+        CompletableFuture<Charac> target = inFlight.get(id);
+
+        if (target != null) {
+            settle(id, target, null, ex);
+        }
+    }
+
+    public void put(Charac character) {
+        if (character == null || character.id() <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(character.id(), new Entry(character));
+        }
+    }
+
+    public Charac peek(int id) {
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            return entry != null ? entry.value() : null;
+        }
+    }
+
+    public void invalidate(int id) {
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), coalesced.sum(),
+                negativeHits.sum(), evictions.sum(), size);
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    private CompletableFuture<Charac> lookup(int id) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+
+            if (entry != null && entry.expired(System.nanoTime())) {
+                entries.remove(id);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.failure() != null) {
+            negativeHits.increment();
+        } else {
+            hits.increment();
+        }
+        return entry.toFuture();
+    }
+
+    private void settle(int id, CompletableFuture<Charac> target,
+            Charac character, Throwable ex) {
+        Throwable cause = unwrap(ex);
+
+        if (cause == null) {
+            put(character);
+        } else if (isPermanent(cause)) {
+            synchronized (entries) {
+                entries.put(id, new Entry(null, cause, 0, 0));
+            }
+        } else if (isParseFailure(cause)) {
+            synchronized (entries) {
+                entries.put(id, new Entry(null, cause, System.nanoTime(), 
+                        PARSE_FAILURE_TTL.toNanos()));
+            }
+        }
+        inFlight.remove(id, target);
+
+        if (cause == null) {
+            target.complete(character);
+        } else {
+            target.completeExceptionally(cause);
+        }
+    }
+
+    static boolean isPermanent(Throwable cause) {
+        return cause instanceof HttpStatusException statusEx &&
+                statusEx.isPermanent();
+    }
+
+    static boolean isParseFailure(Throwable cause) {
+        while (cause != null) {
+            if (cause instanceof JsonProcessingException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    static Throwable unwrap(Throwable ex) {
+        while ((ex instanceof CompletionException ||
+                ex instanceof ExecutionException) && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,144 @@
+package aog.rickymortyapp.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+// Corta las peticiones a la API cuando la tasa de errores se dispara. Mira
+// las últimas windowSize respuestas: si hay al menos minCalls y la
+// fracción de fallos (errores de red y 5xx; los 429 ya los gestiona el
+// RequestGovernor) llega a failureThreshold, se abre y rechaza todo
+// durante openDuration. Después deja pasar una única petición de prueba
+// (HALF_OPEN): si sale bien se cierra, si no vuelve a abrirse.
+//
+// tryAcquire() devuelve un permiso con la generación del estado actual,
+// que cambia en cada transición, y record() solo cuenta las respuestas con
+// el permiso de la generación vigente. Así una respuesta de una petición
+// enviada antes de abrir el circuito no se toma por la de prueba.
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public static final long REJECTED = -1;
+
+    private final int minCalls;
+    private final double failureThreshold;
+    private final long openNanos;
+    private final boolean[] window;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder openings = new LongAdder();
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAtNanos;
+    private long generation;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int windowSize, int minCalls, 
+            double failureThreshold, Duration openDuration) {
+        if (windowSize <= 0 || minCalls <= 0 || minCalls > windowSize) {
+            throw new IllegalArgumentException("Invalid window: minCalls " + 
+                    minCalls + " of " + windowSize);
+        }
+        if (failureThreshold <= 0 || failureThreshold > 1) {
+            throw new IllegalArgumentException(
+                    "failureThreshold must be in (0, 1]: " + failureThreshold);
+        }
+        this.window = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public static CircuitBreaker defaults() {
+        return new CircuitBreaker(20, 10, 0.5, Duration.ofSeconds(10));
+    }
+
+    // Devuelve REJECTED si la petición no debe enviarse; si no, el permiso
+    // que se pasa a record() con su resultado.
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN && 
+                System.nanoTime() - openedAtNanos >= openNanos) {
+            moveTo(State.HALF_OPEN);
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return generation;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return generation;
+        }
+        rejected.increment();
+        return REJECTED;
+    }
+
+    // Con el circuito abierto no se emiten permisos, así que ahí no cuenta
+    // ninguna respuesta; en HALF_OPEN solo la de prueba.
+    public synchronized void record(long permit, boolean success) {
+        if (permit != generation) {
+            return;
+        }
+        switch (state) {
+            case OPEN -> {
+            }
+            case HALF_OPEN -> {
+                if (success) {
+                    moveTo(State.CLOSED);
+                    resetWindow();
+                } else {
+                    open();
+                }
+            }
+            case CLOSED -> {
+                if (recorded == window.length) {
+                    failures -= window[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                window[next] = !success;
+                failures += success ? 0 : 1;
+                next = (next + 1) % window.length;
+
+                if (recorded >= minCalls && 
+                        failures >= failureThreshold * recorded) {
+                    open();
+                }
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long openings() {
+        return openings.sum();
+    }
+
+    private void moveTo(State next) {
+        state = next;
+        generation++;
+    }
+
+    private void open() {
+        moveTo(State.OPEN);
+        openedAtNanos = System.nanoTime();
+        openings.increment();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,9 @@
+package aog.rickymortyapp.service;
+
+// Petición rechazada sin llegar a enviarse porque el CircuitBreaker está
+// abierto. RetryPolicy no la reintenta.
+public class CircuitOpenException extends RuntimeException {
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
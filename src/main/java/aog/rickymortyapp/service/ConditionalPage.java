@@ -0,0 +1,15 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.model.PaginatedResponse;
+
+// Resultado de una petición condicional de página: page es null si el
+// servidor respondió 304. etag es el de la página actual (null si el
+// servidor no lo envía).
+public record ConditionalPage<T>(
+    PaginatedResponse<T> page,
+    String etag
+) {
+    public boolean notModified() {
+        return page == null;
+    }
+}
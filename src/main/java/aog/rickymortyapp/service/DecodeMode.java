@@ -0,0 +1,18 @@
+package aog.rickymortyapp.service;
+
+public enum DecodeMode {
+    STREAMING,
+    STRING;
+
+    public static final String PROPERTY = "rickymorty.decode";
+
+    // Por defecto cada respuesta se decodifica desde el InputStream del
+    // cuerpo según llega. STRING (-Drickymorty.decode=string) la recibe
+    // entera como String antes de decodificarla; se mantiene para comparar
+    // en JsonDecodeBenchmark y en el harness.
+    public static DecodeMode fromSystemProperty() {
+        String value = System.getProperty(PROPERTY, "streaming");
+        return "string".equalsIgnoreCase(value.trim()) 
+                ? STRING : STREAMING;
+    }
+}
@@ -0,0 +1,329 @@
+package aog.rickymortyapp.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+// El HttpClient del JDK no descomprime: este handler envuelve a otro y,
+// si la respuesta viene con Content-Encoding gzip o deflate, la infla
+// fragmento a fragmento antes de pasarla al subscriber original (el JSON
+// sigue decodificándose en streaming). En todos los casos cuenta los bytes
+// del cuerpo tal y como llegan y ya descomprimidos.
+final class EncodedBodyHandlers {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    interface ByteCounts {
+        void record(long wireBytes, long decodedBytes);
+    }
+
+    private EncodedBodyHandlers() {
+    }
+
+    static <T> HttpResponse.BodyHandler<T> decoding(
+            HttpResponse.BodyHandler<T> handler, ByteCounts counts) {
+        return info -> {
+            HttpResponse.BodySubscriber<T> downstream = handler.apply(info);
+            String encoding = info.headers().firstValue("Content-Encoding")
+                    .orElse("identity").trim().toLowerCase(Locale.ROOT);
+
+            return switch (encoding) {
+                case "gzip", "x-gzip" -> 
+                    new InflatingSubscriber<>(downstream, true, counts);
+                case "deflate" -> 
+                    new InflatingSubscriber<>(downstream, false, counts);
+                // Cualquier otra codificación llega tal cual y fallará al
+                // parsear.
+                default -> new CountingSubscriber<>(downstream, counts);
+            };
+        };
+    }
+
+    static final class CountingSubscriber<T>
+            implements HttpResponse.BodySubscriber<T> {
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final ByteCounts counts;
+        private long bytes;
+
+        CountingSubscriber(HttpResponse.BodySubscriber<T> downstream, 
+                ByteCounts counts) {
+            this.downstream = downstream;
+            this.counts = counts;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            for (ByteBuffer buffer : items) {
+                bytes += buffer.remaining();
+            }
+            downstream.onNext(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            counts.record(bytes, bytes);
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            counts.record(bytes, bytes);
+            downstream.onComplete();
+        }
+    }
+
+    static final class InflatingSubscriber<T>
+            implements HttpResponse.BodySubscriber<T> {
+        private static final int GZIP_TRAILER_BYTES = 8;
+
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final boolean gzip;
+        private final ByteCounts counts;
+        private final CRC32 crc = new CRC32();
+        // Cabecera gzip o zlib mientras no esté completa; después, el
+        // trailer gzip.
+        private final ByteArrayOutputStream framing = 
+                new ByteArrayOutputStream();
+        private Inflater inflater;
+        private Flow.Subscription subscription;
+        private long wireBytes;
+        private long decodedBytes;
+        private boolean done;
+
+        InflatingSubscriber(HttpResponse.BodySubscriber<T> downstream, 
+                boolean gzip, ByteCounts counts) {
+            this.downstream = downstream;
+            this.gzip = gzip;
+            this.counts = counts;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (done) {
+                return;
+            }
+            List<ByteBuffer> inflated = new ArrayList<>();
+
+            try {
+                for (ByteBuffer buffer : items) {
+                    wireBytes += buffer.remaining();
+                    inflate(buffer, inflated);
+                }
+            } catch (IOException | DataFormatException ex) {
+                subscription.cancel();
+                fail(ex);
+                return;
+            }
+            // Una lista vacía hace que el subscriber original pida más.
+            downstream.onNext(inflated);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                fail(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                verifyEnd();
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            }
+            finish();
+            downstream.onComplete();
+        }
+
+        private void inflate(ByteBuffer buffer, List<ByteBuffer> inflated) 
+                throws IOException, DataFormatException {
+            if (inflater == null) {
+                buffer = readHeader(buffer);
+
+                if (buffer == null) {
+                    return;
+                }
+            }
+            if (inflater.finished()) {
+                framing.write(toArray(buffer));
+                return;
+            }
+            inflater.setInput(buffer);
+
+            while (!inflater.finished()) {
+                ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                int count = inflater.inflate(chunk);
+
+                if (count > 0) {
+                    chunk.flip();
+                    crc.update(chunk.duplicate());
+                    decodedBytes += count;
+                    inflated.add(chunk);
+                } else if (inflater.needsInput()) {
+                    return;
+                } else {
+                    throw new ZipException("Compressed body needs a " + 
+                            "preset dictionary");
+                }
+            }
+            // Lo que sobra tras el final del stream es el trailer gzip.
+            framing.write(toArray(buffer));
+        }
+
+        // Acumula la cabecera hasta tenerla completa; devuelve el resto del
+        // fragmento o null si aún faltan bytes.
+        private ByteBuffer readHeader(ByteBuffer buffer) throws IOException {
+            framing.write(toArray(buffer));
+            byte[] bytes = framing.toByteArray();
+            int length;
+
+            if (gzip) {
+                length = gzipHeaderLength(bytes);
+                
+                if (length < 0) {
+                    return null;
+                }
+                inflater = new Inflater(true);
+            } else {
+                if (bytes.length < 2) {
+                    return null;
+                }
+                // Muchos servidores mandan "deflate" sin el envoltorio zlib
+                // del RFC 1950; se detecta por la cabecera.
+                length = 0;
+                inflater = new Inflater(!isZlibHeader(bytes));
+            }
+            framing.reset();
+            return ByteBuffer.wrap(bytes, length, bytes.length - length);
+        }
+
+        private void verifyEnd() throws IOException {
+            if (inflater == null || !inflater.finished()) {
+                throw new EOFException("Truncated compressed response body");
+            }
+            if (!gzip) {
+                return;
+            }
+            byte[] trailer = framing.toByteArray();
+
+            if (trailer.length < GZIP_TRAILER_BYTES) {
+                throw new EOFException("Truncated gzip trailer");
+            }
+            if (readInt(trailer, 0) != (int) crc.getValue() || 
+                    readInt(trailer, 4) != (int) decodedBytes) {
+                throw new ZipException("Corrupt gzip response body");
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            finish();
+            downstream.onError(throwable);
+        }
+
+        private void finish() {
+            done = true;
+            counts.record(wireBytes, decodedBytes);
+
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    // Longitud de la cabecera gzip (RFC 1952) o -1 si está incompleta.
+    static int gzipHeaderLength(byte[] header) throws ZipException {
+        if (header.length < 10) {
+            return -1;
+        }
+        if ((header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b || 
+                header[2] != 8) {
+            throw new ZipException("Not in gzip format");
+        }
+        int flags = header[3] & 0xff;
+        int position = 10;
+
+        if ((flags & 0x04) != 0) {
+            if (header.length < position + 2) {
+                return -1;
+            }
+            position += 2 + ((header[position] & 0xff) | 
+                    (header[position + 1] & 0xff) << 8);
+        }
+        if ((flags & 0x08) != 0) {
+            position = skipZeroTerminated(header, position);
+        }
+        if ((flags & 0x10) != 0) {
+            position = skipZeroTerminated(header, position);
+        }
+        if ((flags & 0x02) != 0 && position >= 0) {
+            position += 2;
+        }
+        return position < 0 || position > header.length ? -1 : position;
+    }
+
+    private static int skipZeroTerminated(byte[] header, int position) {
+        if (position < 0) {
+            return -1;
+        }
+        for (int i = position; i < header.length; i++) {
+            if (header[i] == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isZlibHeader(byte[] bytes) {
+        int cmf = bytes[0] & 0xff;
+        int flg = bytes[1] & 0xff;
+        return (cmf & 0x0f) == 8 && (cmf << 8 | flg) % 31 == 0;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8 | 
+                (bytes[offset + 2] & 0xff) << 16 | 
+                (bytes[offset + 3] & 0xff) << 24;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,19 @@
+package aog.rickymortyapp.service;
+
+public record GovernorStats(
+    double ratePerSecond,
+    double availableTokens,
+    double concurrencyLimit,
+    int inFlight,
+    int queued,
+    long throttled,
+    long completed
+) {
+    @Override
+    public String toString() {
+        return String.format(
+                "rate=%.1f req/s, concurrency=%.1f, inFlight=%d, queued=%d, " +
+                "429s=%d, completed=%d", ratePerSecond, concurrencyLimit,
+                inFlight, queued, throttled, completed);
+    }
+}
@@ -0,0 +1,253 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.metrics.Endpoint;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Peticiones duplicadas ("hedged requests") contra la cola de latencia: si
+// una petición lleva en la red más que el percentil configurado de las
+// últimas respuestas de su endpoint, se lanza una copia y gana la primera
+// respuesta correcta. La perdedora no se puede abortar a través del
+// RequestGovernor; su respuesta se descarta y, si su cuerpo es un
+// InputStream sin leer, se cierra para soltar la conexión.
+// El presupuesto es un token bucket: cada petición original suma
+// budgetRatio y cada copia gasta 1, así que las copias nunca pasan de esa
+// fracción del tráfico (más una pequeña ráfaga).
+public class HedgingPolicy {
+    public static final String PROPERTY = "rickymorty.hedging";
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 20;
+    // El percentil se recalcula cada tantas muestras, no en cada petición.
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final double MAX_BUDGET = 10;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+    private final Window[] windows = new Window[Endpoint.values().length];
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private volatile boolean enabled = true;
+    private double budget = 1;
+
+    // Últimas latencias de un endpoint en un buffer circular.
+    private static final class Window {
+        private final long[] samples = new long[WINDOW];
+        private int next;
+        private int size;
+        private int sinceRecompute;
+        private long thresholdNanos = -1;
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+
+            if (++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                thresholdNanos = -1;
+            }
+        }
+
+        synchronized long threshold(double percentile) {
+            if (size < MIN_SAMPLES) {
+                return -1;
+            }
+            if (thresholdNanos < 0) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile * size) - 1;
+                thresholdNanos = sorted[Math.max(0, Math.min(rank, size - 1))];
+            }
+            return thresholdNanos;
+        }
+    }
+
+    public HedgingPolicy(double percentile, Duration minDelay, 
+            double budgetRatio) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException(
+                    "percentile must be in (0, 1): " + percentile);
+        }
+        if (budgetRatio < 0 || budgetRatio > 1) {
+            throw new IllegalArgumentException(
+                    "budgetRatio must be in [0, 1]: " + budgetRatio);
+        }
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budgetRatio = budgetRatio;
+
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window();
+        }
+    }
+
+    // p95 y como mucho un 5 % de peticiones duplicadas.
+    // -Drickymorty.hedging=off las desactiva.
+    public static HedgingPolicy fromSystemProperty() {
+        HedgingPolicy policy = new HedgingPolicy(0.95, Duration.ofMillis(10), 
+                0.05);
+        policy.setEnabled(!"off".equalsIgnoreCase(
+                System.getProperty(PROPERTY, "on").trim()));
+        return policy;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(Endpoint endpoint, long nanos) {
+        windows[endpoint.ordinal()].record(nanos);
+    }
+
+    // -1 mientras el endpoint no tenga muestras suficientes.
+    public long delayNanos(Endpoint endpoint) {
+        long threshold = windows[endpoint.ordinal()].threshold(percentile);
+        return threshold < 0 ? -1 : Math.max(minDelayNanos, threshold);
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long wins() {
+        return wins.sum();
+    }
+
+    // attempt envía una petición y llama al Runnable que recibe cuando
+    // sale a la red; el plazo de la copia cuenta desde ese momento, no
+    // desde que entra en la cola del RequestGovernor.
+    public <T> CompletableFuture<HttpResponse<T>> execute(Endpoint endpoint,
+            Function<Runnable, CompletableFuture<HttpResponse<T>>> attempt,
+            Executor executor) {
+        long delay = enabled ? delayNanos(endpoint) : -1;
+
+        if (delay < 0) {
+            return attempt.apply(() -> {});
+        }
+        earn();
+        Race<T> race = new Race<>();
+        Executor delayed = CompletableFuture.delayedExecutor(delay, 
+                TimeUnit.NANOSECONDS, executor);
+        race.watch(attempt.apply(() -> delayed.execute(() -> {
+            if (!race.join()) {
+                return;
+            }
+            if (spend()) {
+                hedges.increment();
+                race.watch(attempt.apply(() -> {}), true);
+            } else {
+                race.leave();
+            }
+        })), false);
+        return race.result;
+    }
+
+    private synchronized void earn() {
+        budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+    }
+
+    private synchronized boolean spend() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable body) {
+            try {
+                body.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response != null && response.statusCode() != 429 && 
+                response.statusCode() < 500;
+    }
+
+    // Gana la primera respuesta correcta. Si ninguna lo es, el resultado
+    // es el de la petición original.
+    private final class Race<T> {
+        private final CompletableFuture<HttpResponse<T>> result = 
+                new CompletableFuture<>();
+        private int running = 1;
+        private boolean primaryDone;
+        private HttpResponse<T> primaryResponse;
+        private Throwable primaryFailure;
+
+        // Reserva el hueco de la copia; false si ya no hace falta.
+        synchronized boolean join() {
+            if (primaryDone || result.isDone()) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        // Libera un hueco reservado con join() que no llegó a usarse.
+        void leave() {
+            synchronized (this) {
+                running--;
+            }
+            settleIfDone();
+        }
+
+        void watch(CompletableFuture<HttpResponse<T>> call, boolean hedge) {
+            call.whenComplete((response, ex) -> finish(response, ex, hedge));
+        }
+
+        private void finish(HttpResponse<T> response, Throwable ex, 
+                boolean hedge) {
+            synchronized (this) {
+                running--;
+
+                if (!hedge) {
+                    primaryDone = true;
+                    primaryResponse = response;
+                    primaryFailure = ex;
+                }
+            }
+            if (ex == null && isSuccess(response)) {
+                if (!result.complete(response)) {
+                    discard(response);
+                } else if (hedge) {
+                    wins.increment();
+                }
+                return;
+            }
+            settleIfDone();
+        }
+
+        private void settleIfDone() {
+            HttpResponse<T> response;
+            Throwable failure;
+
+            synchronized (this) {
+                if (running > 0 || !primaryDone) {
+                    return;
+                }
+                response = primaryResponse;
+                failure = primaryFailure;
+            }
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(response);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package aog.rickymortyapp.service;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+public class HttpStatusException extends RuntimeException {
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    public HttpStatusException(int statusCode, String message) {
+        this(statusCode, message, null);
+    }
+
+    public HttpStatusException(int statusCode, String message,
+            Duration retryAfter) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    public static HttpStatusException of(HttpResponse<?> response,
+            String message) {
+        return new HttpStatusException(response.statusCode(), message,
+                parseRetryAfter(response).orElse(null));
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    public Optional<Duration> retryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    // Errores 4xx distintos de 429: repetir la petición no cambia el
+    // resultado, así que se pueden cachear como negativos.
+    public boolean isPermanent() {
+        return statusCode >= 400 && statusCode < 500 && statusCode != 429;
+    }
+
+    // Retry-After admite segundos o una fecha HTTP.
+    static Optional<Duration> parseRetryAfter(HttpResponse<?> response) {
+        Optional<String> header = response.headers().firstValue("Retry-After");
+
+        if (header.isEmpty()) {
+            return Optional.empty();
+        }
+        String value = header.get().trim();
+
+        try {
+            return Optional.of(Duration.ofSeconds(
+                    Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException ex) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value,
+                        DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(), at);
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException dateEx) {
+                return Optional.empty();
+            }
+        }
+    }
+}
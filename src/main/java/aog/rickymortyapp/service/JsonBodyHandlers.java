@@ -0,0 +1,23 @@
+package aog.rickymortyapp.service;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+
+// Entrega el cuerpo de las respuestas 200 como un InputStream que se va
+// llenando con los fragmentos ByteBuffer según llegan del HttpClient.
+// ResponseReader lo lee con un único parser en el executor: el JSON se
+// decodifica mientras llega el resto del cuerpo, sin construir nunca el
+// String completo ni guardar el cuerpo entero en memoria.
+final class JsonBodyHandlers {
+
+    private JsonBodyHandlers() {
+    }
+
+    // En las respuestas que no son 200 el cuerpo se descarta y body()
+    // devuelve null. Quien reciba el InputStream tiene que cerrarlo.
+    static HttpResponse.BodyHandler<InputStream> ofJson() {
+        return info -> info.statusCode() == 200
+                ? HttpResponse.BodySubscribers.ofInputStream()
+                : HttpResponse.BodySubscribers.replacing(null);
+    }
+}
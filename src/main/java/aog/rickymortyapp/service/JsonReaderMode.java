@@ -0,0 +1,16 @@
+package aog.rickymortyapp.service;
+
+public enum JsonReaderMode {
+    GENERATED,
+    DATABIND;
+
+    public static final String PROPERTY = "rickymorty.json";
+
+    // -Drickymorty.json=databind vuelve a decodificar siempre con
+    // ObjectMapper en lugar de con los lectores generados del modelo.
+    public static JsonReaderMode fromSystemProperty() {
+        String value = System.getProperty(PROPERTY, "generated");
+        return "databind".equalsIgnoreCase(value.trim()) 
+                ? DATABIND : GENERATED;
+    }
+}
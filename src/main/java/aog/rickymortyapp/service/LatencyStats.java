@@ -0,0 +1,15 @@
+package aog.rickymortyapp.service;
+
+public record LatencyStats(
+    long count,
+    long p50Nanos,
+    long p99Nanos,
+    long maxNanos
+) {
+    @Override
+    public String toString() {
+        return String.format("requests=%d, p50=%.1f ms, p99=%.1f ms, " +
+                "max=%.1f ms", count, p50Nanos / 1e6, p99Nanos / 1e6, 
+                maxNanos / 1e6);
+    }
+}
@@ -0,0 +1,48 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.codegen.JsonReaders;
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.CharacJsonReader;
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.EpisodeJsonReader;
+import aog.rickymortyapp.model.PaginatedResponse;
+import aog.rickymortyapp.model.PaginatedResponseJsonReader;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.function.BooleanSupplier;
+
+// Un ResponseReader por tipo de respuesta de la API: el lector generado y
+// el ObjectReader equivalente que se usa como respaldo.
+final class ModelReaders {
+    final ResponseReader<PaginatedResponse<Episode>> episodePage;
+    final ResponseReader<Charac> character;
+    final ResponseReader<Charac[]> characterArray;
+    final ResponseReader<PaginatedResponse<Charac>> characterPage;
+
+    ModelReaders(ObjectMapper objectMapper, BooleanSupplier useGenerated,
+            Runnable onFallback) {
+        this.episodePage = new ResponseReader<>(objectMapper.getFactory(),
+                () -> objectMapper.readerFor(
+                        new TypeReference<PaginatedResponse<Episode>>() {}),
+                parser -> PaginatedResponseJsonReader.read(parser, 
+                        EpisodeJsonReader::read, Episode[]::new),
+                useGenerated, onFallback);
+        this.character = new ResponseReader<>(objectMapper.getFactory(),
+                () -> objectMapper.readerFor(Charac.class),
+                CharacJsonReader::read, useGenerated, onFallback);
+        // Con un único id la API devuelve un objeto en lugar de un array.
+        this.characterArray = new ResponseReader<>(objectMapper.getFactory(),
+                () -> objectMapper.readerFor(Charac[].class)
+                    .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY),
+                parser -> JsonReaders.readArray(parser, CharacJsonReader::read,
+                        Charac[]::new, true),
+                useGenerated, onFallback);
+        this.characterPage = new ResponseReader<>(objectMapper.getFactory(),
+                () -> objectMapper.readerFor(
+                        new TypeReference<PaginatedResponse<Charac>>() {}),
+                parser -> PaginatedResponseJsonReader.read(parser, 
+                        CharacJsonReader::read, Charac[]::new),
+                useGenerated, onFallback);
+    }
+}
@@ -0,0 +1,201 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.model.Info;
+import aog.rickymortyapp.model.PaginatedResponse;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Publica los elementos de un recurso paginado según llegan sus páginas,
+// sin esperar a tenerlas todas. La página 1 se pide con el primer
+// request(n) y da el número de páginas; después solo se piden más mientras
+// lo recibido y lo que está en camino no cubra la demanda pendiente, con
+// un máximo de pagesAhead páginas en vuelo. Cada subscribe() recorre el
+// recurso desde el principio. Los elementos salen en el orden de llegada
+// de las páginas; un fallo de página termina con onError.
+final class PagePublisher<T> implements Flow.Publisher<T> {
+    private final IntFunction<CompletableFuture<PaginatedResponse<T>>> fetcher;
+    private final int pagesAhead;
+    private final Consumer<Info> onInfo;
+
+    // onInfo (puede ser null) recibe la Info de la página 1 antes de que se
+    // emita ninguno de sus elementos.
+    PagePublisher(IntFunction<CompletableFuture<PaginatedResponse<T>>> fetcher,
+            int pagesAhead, Consumer<Info> onInfo) {
+        if (pagesAhead <= 0) {
+            throw new IllegalArgumentException(
+                    "pagesAhead must be positive: " + pagesAhead);
+        }
+        this.fetcher = fetcher;
+        this.pagesAhead = pagesAhead;
+        this.onInfo = onInfo;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    // drain() es el único sitio que emite y decide qué páginas pedir; el
+    // contador wip lo serializa entre request() y las páginas que llegan.
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger pagesDone = new AtomicInteger();
+        private volatile int totalPages = -1;
+        private volatile int pageSize = 1;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+        private int nextPage = 1;
+        private boolean terminated;
+
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException(
+                        "non-positive subscription request: " + n));
+            } else {
+                demand.getAndUpdate(current -> 
+                        current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void fail(Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+
+            do {
+                if (cancelled || terminated) {
+                    buffer.clear();
+                } else {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long requested = demand.get();
+            long emitted = 0;
+
+            while (emitted != requested && error == null && !cancelled) {
+                T item = buffer.poll();
+
+                if (item == null) {
+                    break;
+                }
+                subscriber.onNext(item);
+                emitted++;
+            }
+            if (emitted != 0 && requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emitted);
+            }
+            if (cancelled) {
+                return;
+            }
+            if (error != null) {
+                terminated = true;
+                subscriber.onError(error);
+                return;
+            }
+            if (totalPages >= 0 && pagesDone.get() == totalPages && 
+                    buffer.isEmpty()) {
+                terminated = true;
+                subscriber.onComplete();
+                return;
+            }
+            fetchAhead();
+        }
+
+        private void fetchAhead() {
+            long wanted = demand.get();
+
+            if (wanted == 0) {
+                return;
+            }
+            // Hasta tener la página 1 no se sabe cuántas hay.
+            if (totalPages < 0) {
+                if (nextPage == 1) {
+                    fetch(nextPage++);
+                }
+                return;
+            }
+            while (nextPage <= totalPages && inFlight.get() < pagesAhead && 
+                    buffer.size() + (long) inFlight.get() * pageSize < wanted) {
+                fetch(nextPage++);
+            }
+        }
+
+        private void fetch(int page) {
+            inFlight.incrementAndGet();
+            CompletableFuture<PaginatedResponse<T>> request;
+
+            try {
+                request = fetcher.apply(page);
+            } catch (RuntimeException ex) {
+                request = CompletableFuture.failedFuture(ex);
+            }
+            request.whenComplete((response, ex) -> {
+                if (ex != null) {
+                    fail(CharacterCache.unwrap(ex));
+                } else {
+                    accept(page, response);
+                }
+                // Los elementos se encolan antes de contar la página como
+                // terminada para que drain() no complete antes de emitirlos.
+                pagesDone.incrementAndGet();
+                inFlight.decrementAndGet();
+                drain();
+            });
+        }
+
+        private void accept(int page, PaginatedResponse<T> response) {
+            T[] results = response.results();
+
+            if (page == 1) {
+                Info info = response.info();
+                pageSize = Math.max(1, results == null ? 0 : results.length);
+
+                if (onInfo != null && info != null) {
+                    onInfo.accept(info);
+                }
+                totalPages = info == null ? 1 : Math.max(1, info.pages());
+            }
+            if (results != null && !cancelled) {
+                for (T item : results) {
+                    buffer.add(item);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package aog.rickymortyapp.service;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Punto único por el que pasan todas las peticiones a la API. Combina un
+// token bucket (peticiones por segundo) con un límite de concurrencia
+// AIMD: cada respuesta correcta sube un poco ambos límites y cada 429 los
+// reduce a la mitad y pausa el envío durante el Retry-After indicado.
+// Las peticiones esperan en una cola; ningún hilo se bloquea.
+public class RequestGovernor {
+    private static final RequestGovernor SHARED =
+            new RequestGovernor(10, 0.5, 50, 6, 1, 32);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double burst;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+
+    private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    private double rate;
+    private double tokens;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private boolean wakeupScheduled;
+
+    public RequestGovernor(double initialRate, double minRate, double maxRate,
+            int initialConcurrency, int minConcurrency, int maxConcurrency) {
+        if (minRate <= 0 || initialRate < minRate || initialRate > maxRate) {
+            throw new IllegalArgumentException("Invalid rate bounds: " +
+                    minRate + " <= " + initialRate + " <= " + maxRate);
+        }
+        if (minConcurrency <= 0 || initialConcurrency < minConcurrency ||
+                initialConcurrency > maxConcurrency) {
+            throw new IllegalArgumentException("Invalid concurrency bounds: " +
+                    minConcurrency + " <= " + initialConcurrency + " <= " +
+                    maxConcurrency);
+        }
+        this.rate = initialRate;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.burst = Math.max(1, initialRate);
+        this.tokens = burst;
+        this.concurrencyLimit = initialConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.lastRefillNanos = System.nanoTime();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "request-governor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static RequestGovernor shared() {
+        return SHARED;
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> submit(
+            Supplier<CompletableFuture<HttpResponse<T>>> call) {
+        return submit(call, RequestPriority.NORMAL);
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> submit(
+            Supplier<CompletableFuture<HttpResponse<T>>> call,
+            RequestPriority priority) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+
+        Runnable start = () -> {
+            CompletableFuture<HttpResponse<T>> sent;
+
+            try {
+                sent = call.get();
+            } catch (RuntimeException ex) {
+                sent = CompletableFuture.failedFuture(ex);
+            }
+            sent.whenComplete((response, ex) -> {
+                release(response);
+
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(response);
+                }
+            });
+        };
+        synchronized (this) {
+            if (priority == RequestPriority.URGENT) {
+                waiting.addFirst(start);
+            } else {
+                waiting.addLast(start);
+            }
+        }
+        drain();
+        return result;
+    }
+
+    public synchronized GovernorStats stats() {
+        refill(System.nanoTime());
+        return new GovernorStats(rate, tokens, concurrencyLimit, inFlight,
+                waiting.size(), throttled.sum(), completed.sum());
+    }
+
+    private void drain() {
+        List<Runnable> ready = new ArrayList<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+
+            while (!waiting.isEmpty() && inFlight < (int) concurrencyLimit) {
+                if (now < pausedUntilNanos) {
+                    scheduleWakeup(pausedUntilNanos - now);
+                    break;
+                }
+                if (tokens < 1) {
+                    long waitNanos = (long) ((1 - tokens) / rate * 1e9);
+                    scheduleWakeup(waitNanos);
+                    break;
+                }
+                tokens -= 1;
+                inFlight++;
+                ready.add(waiting.pollFirst());
+            }
+        }
+        ready.forEach(Runnable::run);
+    }
+
+    private void release(HttpResponse<?> response) {
+        synchronized (this) {
+            inFlight--;
+            completed.increment();
+
+            if (response != null && response.statusCode() == 429) {
+                throttled.increment();
+                decrease();
+                long pauseNanos = HttpStatusException.parseRetryAfter(response)
+                        .map(Duration::toNanos)
+                        .orElse(TimeUnit.SECONDS.toNanos(1));
+                pausedUntilNanos = Math.max(pausedUntilNanos,
+                        System.nanoTime() + pauseNanos);
+            } else if (response != null && response.statusCode() < 500) {
+                increase();
+                applyRateLimitHeaders(response);
+            } else {
+                concurrencyLimit = Math.max(minConcurrency,
+                        concurrencyLimit * 0.75);
+            }
+        }
+        drain();
+    }
+
+    // Si la API anuncia que no quedan peticiones en la ventana actual se
+    // pausa hasta el reset indicado (en segundos relativos).
+    private void applyRateLimitHeaders(HttpResponse<?> response) {
+        Optional<Long> remaining = headerLong(response,
+                "X-RateLimit-Remaining", "RateLimit-Remaining");
+
+        if (remaining.isEmpty() || remaining.get() > 0) {
+            return;
+        }
+        long resetSeconds = headerLong(response,
+                "X-RateLimit-Reset", "RateLimit-Reset").orElse(1L);
+
+        // Algunos servidores envían un epoch en lugar de segundos relativos.
+        if (resetSeconds > 1_000_000_000L) {
+            resetSeconds = Math.max(0,
+                    resetSeconds - System.currentTimeMillis() / 1000);
+        }
+        pausedUntilNanos = Math.max(pausedUntilNanos,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(resetSeconds));
+    }
+
+    private static Optional<Long> headerLong(HttpResponse<?> response,
+            String... names) {
+        for (String name : names) {
+            Optional<String> value = response.headers().firstValue(name);
+
+            if (value.isPresent()) {
+                try {
+                    return Optional.of(Long.parseLong(value.get().trim()));
+                } catch (NumberFormatException ex) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void increase() {
+        concurrencyLimit = Math.min(maxConcurrency,
+                concurrencyLimit + 1.0 / concurrencyLimit);
+        rate = Math.min(maxRate, rate + 1.0 / Math.max(1, rate));
+    }
+
+    private void decrease() {
+        concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+        rate = Math.max(minRate, rate / 2);
+        tokens = Math.min(tokens, 0);
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / 1e9;
+        tokens = Math.min(burst, tokens + elapsedSeconds * rate);
+        lastRefillNanos = now;
+    }
+
+    private void scheduleWakeup(long delayNanos) {
+        if (wakeupScheduled) {
+            return;
+        }
+        wakeupScheduled = true;
+        scheduler.schedule(() -> {
+            synchronized (this) {
+                wakeupScheduled = false;
+            }
+            drain();
+        }, Math.max(1, delayNanos), TimeUnit.NANOSECONDS);
+    }
+}
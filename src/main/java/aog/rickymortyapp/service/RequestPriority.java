@@ -0,0 +1,8 @@
+package aog.rickymortyapp.service;
+
+// URGENT adelanta la petición en la cola del RequestGovernor, por delante
+// de la precarga en segundo plano.
+public enum RequestPriority {
+    NORMAL,
+    URGENT
+}
@@ -0,0 +1,22 @@
+package aog.rickymortyapp.service;
+
+public record ResilienceStats(
+    long hedges,
+    long hedgeWins,
+    CircuitBreaker.State circuitState,
+    long circuitOpenings,
+    long circuitRejections
+) {
+    // Fracción de copias cuya respuesta llegó antes que la original.
+    public double hedgeWinRate() {
+        return hedges == 0 ? 0 : (double) hedgeWins / hedges;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hedges=%d, hedgeWins=%d (%.0f %%), circuit=%s, " +
+                "openings=%d, rejected=%d", hedges, hedgeWins, 
+                hedgeWinRate() * 100, circuitState, circuitOpenings, 
+                circuitRejections);
+    }
+}
@@ -0,0 +1,135 @@
+package aog.rickymortyapp.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Reintentos asíncronos con backoff exponencial y "full jitter". La espera
+// se programa con CompletableFuture.delayedExecutor y el siguiente intento
+// se encadena con thenCompose, así que ningún hilo duerme entre intentos.
+// Los avisos de reintento van al listener de setOnRetry(), nunca a la
+// salida estándar, que el modo sin interfaz reserva para los datos.
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration maxElapsed;
+    private final Map<Integer, Integer> attemptsByStatus;
+    private final LongAdder retries = new LongAdder();
+    private volatile Consumer<String> onRetry;
+
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay,
+            Duration maxElapsed, Map<Integer, Integer> attemptsByStatus) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException(
+                    "maxAttempts must be positive: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.maxElapsed = maxElapsed;
+        this.attemptsByStatus = Map.copyOf(attemptsByStatus);
+    }
+
+    // 429 admite más intentos que los 5xx; los errores de red se tratan
+    // con el límite general.
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(4, Duration.ofMillis(500),
+                Duration.ofSeconds(8), Duration.ofSeconds(60),
+                Map.of(429, 6, 500, 2, 502, 3, 503, 3, 504, 3));
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, Map.of());
+    }
+
+    public <T> CompletableFuture<T> execute(String label,
+            Supplier<CompletableFuture<T>> call, Executor executor) {
+        return attempt(label, call, executor, 1, System.nanoTime());
+    }
+
+    // null (por defecto) no avisa de los reintentos.
+    public void setOnRetry(Consumer<String> onRetry) {
+        this.onRetry = onRetry;
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    private <T> CompletableFuture<T> attempt(String label,
+            Supplier<CompletableFuture<T>> call, Executor executor,
+            int attempt, long startNanos) {
+        CompletableFuture<T> result;
+
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        return result.handle((value, ex) -> {
+            if (ex == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable cause = CharacterCache.unwrap(ex);
+            long delayMs = nextDelayMs(cause, attempt, startNanos);
+
+            if (delayMs < 0) {
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            retries.increment();
+            Consumer<String> listener = onRetry;
+
+            if (listener != null) {
+                listener.accept("Reintentando petición para: " + label +
+                        " (intento " + (attempt + 1) + ", espera " + 
+                        delayMs + " ms)");
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(
+                    delayMs, TimeUnit.MILLISECONDS, executor);
+            return CompletableFuture.runAsync(() -> {}, delayed)
+                .thenCompose(ignored -> attempt(label, call, executor,
+                        attempt + 1, startNanos));
+        }).thenCompose(future -> future);
+    }
+
+    // Devuelve -1 cuando no se debe reintentar.
+    private long nextDelayMs(Throwable cause, int attempt, long startNanos) {
+        int allowed = allowedAttempts(cause);
+
+        if (attempt >= allowed) {
+            return -1;
+        }
+        long cap = Math.min(maxDelay.toMillis(),
+                baseDelay.toMillis() << Math.min(attempt - 1, 20));
+        long delayMs = cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0;
+
+        if (cause instanceof HttpStatusException statusEx) {
+            long retryAfterMs = statusEx.retryAfter()
+                    .map(Duration::toMillis).orElse(0L);
+            delayMs = Math.max(delayMs, retryAfterMs);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(
+                System.nanoTime() - startNanos);
+
+        if (elapsedMs + delayMs > maxElapsed.toMillis()) {
+            return -1;
+        }
+        return delayMs;
+    }
+
+    private int allowedAttempts(Throwable cause) {
+        if (cause instanceof HttpStatusException statusEx) {
+            return attemptsByStatus.getOrDefault(statusEx.statusCode(), 1);
+        }
+        return cause instanceof IOException ? maxAttempts : 1;
+    }
+}
@@ -0,0 +1,14 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import java.util.List;
+import java.util.Map;
+
+public record Snapshot(
+    long createdAtMillis,
+    int episodeCount,
+    String episodesEtag,
+    List<Episode> episodes,
+    Map<Integer, List<Charac>> episodeCharacters
+) {}
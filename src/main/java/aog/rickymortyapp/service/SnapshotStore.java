@@ -0,0 +1,333 @@
+package aog.rickymortyapp.service;
+
+import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.ResourceIds;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+// Instantánea binaria de episodios y personajes. Formato:
+//   magic "RMSN" | versión | longitud del payload | CRC32 | payload
+// El fichero se escribe en un temporal, se fuerza a disco y se renombra de
+// forma atómica, así que un corte a mitad de escritura deja la instantánea
+// anterior intacta. Las URLs de recursos se guardan como prefijo + id.
+public class SnapshotStore {
+    public static final String PROPERTY = "rickymorty.snapshot";
+    private static final int MAGIC = 0x524D534E;
+    private static final int VERSION = 1;
+
+    private final Path file;
+
+    public SnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public static SnapshotStore defaultStore() {
+        String configured = System.getProperty(PROPERTY);
+        Path path = configured != null
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("user.home"),
+                        ".rickymortyapp", "snapshot.bin");
+        return new SnapshotStore(path);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public Optional<Snapshot> load() {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            ByteBuffer header = ByteBuffer.wrap(bytes);
+
+            if (bytes.length < 16 || header.getInt() != MAGIC) {
+                System.err.println("Ignoring invalid snapshot: " + file);
+                return Optional.empty();
+            }
+            int version = header.getInt();
+
+            if (version != VERSION) {
+                System.err.println("Ignoring snapshot with version " +
+                        version + ": " + file);
+                return Optional.empty();
+            }
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+
+            if (length != bytes.length - 16) {
+                System.err.println("Ignoring truncated snapshot: " + file);
+                return Optional.empty();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 16, length);
+
+            if ((int) crc.getValue() != expectedCrc) {
+                System.err.println("Ignoring corrupted snapshot: " + file);
+                return Optional.empty();
+            }
+            return Optional.of(read(new DataInputStream(
+                    new ByteArrayInputStream(bytes, 16, length))));
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Error reading snapshot " + file + ": " +
+                    ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(64 * 1024);
+        write(snapshot, new DataOutputStream(payload));
+        byte[] body = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        ByteBuffer header = ByteBuffer.allocate(16)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(body.length)
+            .putInt((int) crc.getValue())
+            .flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "snapshot", ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer data = ByteBuffer.wrap(body);
+
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void write(Snapshot snapshot, DataOutputStream out)
+            throws IOException {
+        UrlTable urls = new UrlTable();
+        Map<Integer, Charac> characters = new LinkedHashMap<>();
+
+        for (List<Charac> list : snapshot.episodeCharacters().values()) {
+            for (Charac character : list) {
+                characters.putIfAbsent(character.id(), character);
+            }
+        }
+        // Los prefijos se recogen antes para poder escribir la tabla primero.
+        for (Episode episode : snapshot.episodes()) {
+            urls.collect(episode.characters());
+        }
+        for (Charac character : characters.values()) {
+            urls.collect(character.episode());
+        }
+
+        out.writeLong(snapshot.createdAtMillis());
+        out.writeInt(snapshot.episodeCount());
+        writeString(out, snapshot.episodesEtag());
+        urls.writeTable(out);
+
+        out.writeInt(snapshot.episodes().size());
+        for (Episode episode : snapshot.episodes()) {
+            out.writeInt(episode.id());
+            writeString(out, episode.name());
+            writeString(out, episode.air_date());
+            writeString(out, episode.episode());
+            urls.writeUrls(out, episode.characters());
+        }
+
+        out.writeInt(characters.size());
+        for (Charac character : characters.values()) {
+            out.writeInt(character.id());
+            writeString(out, character.name());
+            writeString(out, character.status());
+            writeString(out, character.species());
+            writeString(out, character.gender());
+            writeString(out, character.image());
+            urls.writeUrls(out, character.episode());
+        }
+
+        out.writeInt(snapshot.episodeCharacters().size());
+        for (Map.Entry<Integer, List<Charac>> entry :
+                snapshot.episodeCharacters().entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue().size());
+
+            for (Charac character : entry.getValue()) {
+                out.writeInt(character.id());
+            }
+        }
+        out.flush();
+    }
+
+    private static Snapshot read(DataInputStream in) throws IOException {
+        long createdAt = in.readLong();
+        int episodeCount = in.readInt();
+        String etag = readString(in);
+        List<String> prefixes = UrlTable.readTable(in);
+
+        int episodeTotal = in.readInt();
+        List<Episode> episodes = new ArrayList<>(episodeTotal);
+        for (int i = 0; i < episodeTotal; i++) {
+            episodes.add(new Episode(in.readInt(), readString(in),
+                    readString(in), readString(in),
+                    UrlTable.readUrls(in, prefixes)));
+        }
+
+        int characterTotal = in.readInt();
+        Map<Integer, Charac> characters = new HashMap<>(characterTotal * 2);
+        for (int i = 0; i < characterTotal; i++) {
+            Charac character = new Charac(in.readInt(), readString(in),
+                    readString(in), readString(in), readString(in),
+                    readString(in), UrlTable.readUrls(in, prefixes));
+            characters.put(character.id(), character);
+        }
+
+        int mappingTotal = in.readInt();
+        Map<Integer, List<Charac>> episodeCharacters = new HashMap<>();
+        for (int i = 0; i < mappingTotal; i++) {
+            int episodeId = in.readInt();
+            int size = in.readInt();
+            List<Charac> list = new ArrayList<>(size);
+
+            for (int j = 0; j < size; j++) {
+                Charac character = characters.get(in.readInt());
+
+                if (character != null) {
+                    list.add(character);
+                }
+            }
+            episodeCharacters.put(episodeId, list);
+        }
+        return new Snapshot(createdAt, episodeCount, etag, episodes,
+                episodeCharacters);
+    }
+
+    private static void writeString(DataOutputStream out, String value)
+            throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Tabla de prefijos ("https://.../api/character/") para guardar cada URL
+    // como índice de prefijo + id entero.
+    private static final class UrlTable {
+        private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+        void collect(String[] urls) {
+            if (urls == null) {
+                return;
+            }
+            for (String url : urls) {
+                String prefix = prefixOf(url);
+
+                if (prefix != null) {
+                    indexes.putIfAbsent(prefix, indexes.size());
+                }
+            }
+        }
+
+        void writeTable(DataOutputStream out) throws IOException {
+            out.writeInt(indexes.size());
+            for (String prefix : indexes.keySet()) {
+                out.writeUTF(prefix);
+            }
+        }
+
+        void writeUrls(DataOutputStream out, String[] urls) throws IOException {
+            if (urls == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(urls.length);
+            for (String url : urls) {
+                String prefix = prefixOf(url);
+
+                if (prefix == null) {
+                    out.writeInt(-1);
+                    writeString(out, url);
+                } else {
+                    out.writeInt(indexes.get(prefix));
+                    out.writeInt(ResourceIds.parse(url));
+                }
+            }
+        }
+
+        static List<String> readTable(DataInputStream in) throws IOException {
+            int size = in.readInt();
+            List<String> prefixes = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                prefixes.add(in.readUTF());
+            }
+            return prefixes;
+        }
+
+        static String[] readUrls(DataInputStream in, List<String> prefixes)
+                throws IOException {
+            int size = in.readInt();
+
+            if (size < 0) {
+                return null;
+            }
+            String[] urls = new String[size];
+            for (int i = 0; i < size; i++) {
+                int prefix = in.readInt();
+                urls[i] = prefix < 0
+                        ? readString(in)
+                        : prefixes.get(prefix) + in.readInt();
+            }
+            return urls;
+        }
+
+        private static String prefixOf(String url) {
+            int id = ResourceIds.parse(url);
+
+            if (id < 0) {
+                return null;
+            }
+            String prefix = url.substring(0, url.lastIndexOf('/') + 1);
+            return (prefix + id).equals(url) ? prefix : null;
+        }
+    }
+}
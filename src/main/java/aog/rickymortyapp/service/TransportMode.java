@@ -0,0 +1,40 @@
+package aog.rickymortyapp.service;
+
+public enum TransportMode {
+    DEFAULT,
+    TUNED;
+
+    public static final String PROPERTY = "rickymorty.transport";
+    public static final String THREADS_PROPERTY = "rickymorty.http.threads";
+    public static final String KEEP_ALIVE_PROPERTY = 
+            "rickymorty.http.keepAliveSeconds";
+    public static final String POOL_SIZE_PROPERTY = "rickymorty.http.poolSize";
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_KEEP_ALIVE_SECONDS = 60;
+    private static final int DEFAULT_POOL_SIZE = 16;
+
+    // -Drickymorty.transport=tuned activa HTTP/2 explícito, gzip/deflate y
+    // el executor propio del HttpClient.
+    public static TransportMode fromSystemProperty() {
+        String value = System.getProperty(PROPERTY, "default");
+        return "tuned".equalsIgnoreCase(value.trim()) ? TUNED : DEFAULT;
+    }
+
+    static int threads() {
+        return Math.max(1, Integer.getInteger(THREADS_PROPERTY, 
+                DEFAULT_THREADS));
+    }
+
+    // El pool de conexiones del JDK se configura con propiedades que lee
+    // una sola vez, al crear el primer HttpClient del proceso: después de
+    // eso cambiarlas no tiene efecto. Las propiedades jdk.* puestas a mano
+    // tienen preferencia.
+    static void applyConnectionPoolSettings() {
+        System.getProperties().putIfAbsent("jdk.httpclient.keepalive.timeout",
+                String.valueOf(Integer.getInteger(KEEP_ALIVE_PROPERTY, 
+                        DEFAULT_KEEP_ALIVE_SECONDS)));
+        System.getProperties().putIfAbsent("jdk.httpclient.connectionPoolSize",
+                String.valueOf(Integer.getInteger(POOL_SIZE_PROPERTY, 
+                        DEFAULT_POOL_SIZE)));
+    }
+}
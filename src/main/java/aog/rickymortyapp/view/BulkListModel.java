@@ -0,0 +1,69 @@
+package aog.rickymortyapp.view;
+
+import java.util.List;
+import java.util.function.Function;
+import javax.swing.AbstractListModel;
+
+// Modelo de lista que solo cambia por sustitución completa: replace()
+// cambia elementos y textos ya formateados de golpe y dispara como mucho
+// dos eventos: intervalRemoved o intervalAdded para la diferencia de
+// tamaño y contentsChanged para las posiciones que siguen existiendo, así
+// la selección de la JList y la accesibilidad ven el tamaño real. Los
+// renderers leen el texto con labelAt() en lugar de concatenarlo en cada
+// repintado. Solo se usa desde el EDT.
+class BulkListModel<T> extends AbstractListModel<T> {
+    private List<T> items = List.of();
+    private String[] labels = new String[0];
+
+    void replace(List<T> items, String[] labels) {
+        if (items.size() != labels.length) {
+            throw new IllegalArgumentException("Got " + items.size() + 
+                    " items but " + labels.length + " labels");
+        }
+        int previous = this.items.size();
+        int next = items.size();
+        this.items = items;
+        this.labels = labels;
+
+        if (previous > next) {
+            fireIntervalRemoved(this, next, previous - 1);
+        } else if (next > previous) {
+            fireIntervalAdded(this, previous, next - 1);
+        }
+        int overlap = Math.min(previous, next);
+
+        if (overlap > 0) {
+            fireContentsChanged(this, 0, overlap - 1);
+        }
+    }
+
+    String labelAt(int index) {
+        return labels[index];
+    }
+
+    // Compara por key y no con equals: los Charac de la CharacterTable se
+    // crean de nuevo en cada lectura.
+    int indexOf(T item, Function<? super T, ?> key) {
+        if (item == null) {
+            return -1;
+        }
+        Object wanted = key.apply(item);
+
+        for (int i = 0; i < items.size(); i++) {
+            if (wanted.equals(key.apply(items.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getSize() {
+        return items.size();
+    }
+
+    @Override
+    public T getElementAt(int index) {
+        return items.get(index);
+    }
+}
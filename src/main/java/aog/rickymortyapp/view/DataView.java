@@ -2,12 +2,22 @@ package aog.rickymortyapp.view;
 
 import aog.rickymortyapp.model.Charac;
 import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.viewModel.ProgressSnapshot;
 import aog.rickymortyapp.viewModel.RickAndMortyViewModel;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class DataView extends JFrame {
     private final RickAndMortyViewModel viewModel;
@@ -15,8 +25,22 @@ public class DataView extends JFrame {
     private JList<Episode> episodeList;
     private JList<Charac> characterList;
     private JLabel statusLabel;
-    private DefaultListModel<Episode> episodeListModel;
-    private DefaultListModel<Charac> characterListModel;
+    private JTextField episodeFilterField;
+    private JTextField characterFilterField;
+    private BulkListModel<Episode> episodeListModel;
+    private BulkListModel<Charac> characterListModel;
+    private ListFilter<Episode> episodeFilter;
+    private ListFilter<Charac> characterFilter;
+    // Episodio cuyos personajes muestra la lista; al refiltrar episodios la
+    // selección se restaura y no debe recargarlos.
+    private int displayedEpisodeId = -1;
+    // Mientras se rehace la lista de temporadas el combo no carga nada.
+    private boolean reloadingSeasons;
+    private final ThumbnailLoader thumbnails = ThumbnailLoader.shared();
+    // Un solo hilo: cada filtro descarta en él los trabajos ya obsoletos.
+    private final ExecutorService filterExecutor = 
+            Executors.newSingleThreadExecutor(Thread.ofPlatform()
+                    .name("list-filter").daemon(true).factory());
 
     public DataView(RickAndMortyViewModel viewModel) {
         this.viewModel = viewModel;
@@ -30,9 +54,8 @@ public class DataView extends JFrame {
         setSize(1000, 600);
         setLocationRelativeTo(null);
 
-        episodeListModel = new DefaultListModel<>();
-        characterListModel = new DefaultListModel<>();
-        characterList = new JList<>(characterListModel);
+        episodeListModel = new BulkListModel<>();
+        characterListModel = new BulkListModel<>();
 
         JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
         mainPanel.setBorder(BorderFactory.createEmptyBorder(
@@ -55,7 +78,13 @@ public class DataView extends JFrame {
         
         episodeList = new JList<>(episodeListModel);
         episodeList.setCellRenderer(new EpisodeListCellRenderer());
+        // Con un prototipo la lista mide una sola celda en lugar de todas.
+        episodeList.setPrototypeCellValue(new Episode(0, 
+                "The Ricklantis Mixup: Episode Prototype", "September 10, 2017", 
+                "S03E07", new String[0]));
         JScrollPane episodeScrollPane = new JScrollPane(episodeList);
+        episodeFilterField = new JTextField();
+        episodePanel.add(filterPanel(episodeFilterField), BorderLayout.NORTH);
         episodePanel.add(episodeScrollPane, BorderLayout.CENTER);
         
         JPanel characterPanel = new JPanel(new BorderLayout());
@@ -64,8 +93,19 @@ public class DataView extends JFrame {
             TitledBorder.LEFT, TitledBorder.TOP));
         
         characterList = new JList<>(characterListModel);
-        characterList.setCellRenderer(new CharacterListCellRenderer());
+        characterList.setCellRenderer(
+                new CharacterListCellRenderer(thumbnails));
+        // Sin imagen el prototipo pinta el icono provisional, que mide lo
+        // mismo que una miniatura.
+        characterList.setPrototypeCellValue(new Charac(0, 
+                "Abradolf Lincler Prototype", "unknown", "Mythological Creature",
+                "unknown", null, new String[0]));
         JScrollPane characterScrollPane = new JScrollPane(characterList);
+        characterScrollPane.getViewport().addChangeListener(
+                e -> thumbnails.newVisibleEpoch());
+        characterFilterField = new JTextField();
+        characterPanel.add(filterPanel(characterFilterField), 
+                BorderLayout.NORTH);
         characterPanel.add(characterScrollPane, BorderLayout.CENTER);
         
         splitPane.setLeftComponent(episodePanel);
@@ -78,16 +118,36 @@ public class DataView extends JFrame {
         mainPanel.add(splitPane, BorderLayout.CENTER);
         mainPanel.add(statusLabel, BorderLayout.SOUTH);
 
+        setupFilters();
         setupListeners();
         
         add(mainPanel);
     }
+
+    private static JPanel filterPanel(JTextField field) {
+        JPanel panel = new JPanel(new BorderLayout(5, 0));
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
+        panel.add(new JLabel("Filtrar:"), BorderLayout.WEST);
+        panel.add(field, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void setupFilters() {
+        episodeFilter = new ListFilter<>(episodeList, episodeListModel, 
+                EpisodeListCellRenderer::label, Episode::id, filterExecutor);
+        episodeFilter.bind(episodeFilterField);
+
+        characterFilter = new ListFilter<>(characterList, characterListModel, 
+                CharacterListCellRenderer::label, Charac::id, filterExecutor);
+        characterFilter.bind(characterFilterField);
+        characterFilter.setOnPublished(this::prefetchThumbnails);
+    }
     
     private void setupListeners() {
         seasonComboBox.addActionListener(e -> {
             String selectedSeason = (String) seasonComboBox.getSelectedItem();
             
-            if (selectedSeason != null) {
+            if (selectedSeason != null && !reloadingSeasons) {
                 loadEpisodesForSeason(selectedSeason);
             }
         });
@@ -97,15 +157,43 @@ public class DataView extends JFrame {
             if (!e.getValueIsAdjusting()) {
                 Episode selectedEpisode = episodeList.getSelectedValue();
                 
-                if (selectedEpisode != null) {
+                if (selectedEpisode != null && 
+                        selectedEpisode.id() != displayedEpisodeId) {
+                    viewModel.selectEpisode(selectedEpisode.id());
                     loadCharactersForEpisode(selectedEpisode);
                 }
             }
         });
-        viewModel.setOnStatusUpdate(status -> {
-            SwingUtilities.invokeLater(() -> {
-                statusLabel.setText(status);
-            });
+        episodeList.addMouseMotionListener(new MouseMotionAdapter() {
+            private int hoveredIndex = -1;
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                int index = episodeList.locationToIndex(e.getPoint());
+                
+                if (index < 0 || index == hoveredIndex) {
+                    return;
+                }
+                hoveredIndex = index;
+                viewModel.hintEpisode(
+                        episodeListModel.getElementAt(index).id());
+            }
+        });
+        // El bus entrega las instantáneas ya en el EDT (ver StartView).
+        Consumer<ProgressSnapshot> progressListener = 
+                progress -> statusLabel.setText(progress.status());
+        viewModel.getProgressBus().addListener(progressListener);
+        // Los refrescos (también los periódicos) llegan a la ventana abierta.
+        Consumer<Set<Integer>> episodesListener = changedIds -> 
+                SwingUtilities.invokeLater(() -> episodesChanged(changedIds));
+        viewModel.addEpisodesChangedListener(episodesListener);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                viewModel.getProgressBus().removeListener(progressListener);
+                viewModel.removeEpisodesChangedListener(episodesListener);
+                filterExecutor.shutdownNow();
+            }
         });
     }
     
@@ -123,13 +211,40 @@ public class DataView extends JFrame {
         }
     }
     
+    // Se conserva la temporada elegida; si el episodio mostrado ha cambiado
+    // o ya no existe se vacía su lista de personajes, y al volver a
+    // seleccionarlo se cargan los nuevos.
+    private void episodesChanged(Set<Integer> changedIds) {
+        Object season = seasonComboBox.getSelectedItem();
+        reloadingSeasons = true;
+        
+        try {
+            seasonComboBox.removeAllItems();
+            loadSeasons();
+            
+            if (season != null) {
+                seasonComboBox.setSelectedItem(season);
+            }
+        } finally {
+            reloadingSeasons = false;
+        }
+        if (changedIds.contains(displayedEpisodeId)) {
+            displayedEpisodeId = -1;
+            characterFilter.setItems(List.of());
+        }
+        String selectedSeason = (String) seasonComboBox.getSelectedItem();
+        
+        if (selectedSeason != null) {
+            loadEpisodesForSeason(selectedSeason);
+        }
+    }
+    
     private void loadEpisodesForSeason(String season) {
-        episodeListModel.clear();
         Map<String, List<Episode>> seasons = viewModel.getSeasonEpisodes();
         List<Episode> episodes = seasons.get(season);
+        episodeFilter.setItems(episodes == null ? List.of() : episodes);
         
         if (episodes != null) {
-            episodes.forEach(episodeListModel::addElement);
             statusLabel.setText("Cargados " + 
                     episodes.size() + 
                     " episodios de la temporada " + 
@@ -138,26 +253,47 @@ public class DataView extends JFrame {
     }
     
     private void loadCharactersForEpisode(Episode episode) {
-        characterListModel.clear();
+        displayedEpisodeId = episode.id();
+        characterFilter.setItems(List.of());
         statusLabel.setText("Cargando personajes para " + 
                 episode.name() + "...");
 
-        new Thread(() -> {
-            List<Charac> characters = viewModel.getEpisodeCharacters(
-                    episode.id());
-            
-            SwingUtilities.invokeLater(() -> {
-                characters.forEach(characterListModel::addElement);
+        viewModel.whenEpisodeCharactersLoaded(episode.id())
+            .thenAccept(characters -> SwingUtilities.invokeLater(() -> {
+                Episode selected = episodeList.getSelectedValue();
+                
+                if (selected == null || selected.id() != episode.id()) {
+                    return;
+                }
+                // Las miniaturas se precargan al publicar el filtrado.
+                characterFilter.setItems(characters);
                 statusLabel.setText("Cargados " + 
                         characters.size() + 
                         " personajes para " + 
                         episode.name());
-            });
-        }).start();
+            }));
     }
 
+    // Las filas visibles piden su miniatura al pintarse; el resto se
+    // precarga con menor prioridad.
+    private void prefetchThumbnails(List<Charac> characters) {
+        for (Charac character : characters) {
+            thumbnails.request(character.image(), false, null);
+        }
+    }
     
+    // Los renderers usan el texto ya formateado por el modelo; label() solo
+    // se llama fuera de él (el prototipo) y desde el hilo del filtro.
     static class EpisodeListCellRenderer extends DefaultListCellRenderer {
+        static String label(Episode episode) {
+            return episode.episode() +
+                    " - " + 
+                    episode.name() + 
+                    " (" + 
+                    episode.air_date() + 
+                    ")";
+        }
+
         @Override
         public Component getListCellRendererComponent(
                 JList<?> list, Object value, int index, boolean isSelected, 
@@ -167,12 +303,8 @@ public class DataView extends JFrame {
                     list, value, index, isSelected, cellHasFocus);
             
             if (value instanceof Episode episode) {
-                setText(episode.episode() +
-                        " - " + 
-                        episode.name() + 
-                        " (" + 
-                        episode.air_date() + 
-                        ")");
+                setText(cachedLabel(list, index, episode, 
+                        EpisodeListCellRenderer::label));
             }
             
             return this;
@@ -181,6 +313,22 @@ public class DataView extends JFrame {
     
     
     static class CharacterListCellRenderer extends DefaultListCellRenderer {
+        private static final Icon PLACEHOLDER = new PlaceholderIcon();
+        private final ThumbnailLoader thumbnails;
+
+        CharacterListCellRenderer(ThumbnailLoader thumbnails) {
+            this.thumbnails = thumbnails;
+        }
+
+        static String label(Charac character) {
+            return character.name() + 
+                    " - " + 
+                    character.species() + 
+                    " (" + 
+                    character.status() + 
+                    ")";
+        }
+
         @Override
         public Component getListCellRendererComponent(
                 JList<?> list, Object value, int index, boolean isSelected, 
@@ -190,14 +338,78 @@ public class DataView extends JFrame {
                     list, value, index, isSelected, cellHasFocus);
             
             if (value instanceof Charac character) {
-                setText(character.name() + 
-                        " - " + 
-                        character.species() + 
-                        " (" + 
-                        character.status() + 
-                        ")");
+                setText(cachedLabel(list, index, character, 
+                        CharacterListCellRenderer::label));
+                setIcon(thumbnailFor(list, character, index));
             }    
             return this;
         }
+
+        // El loader guarda un solo callback por URL, así que el callback no
+        // depende de la fila que lo pidió.
+        private Icon thumbnailFor(JList<?> list, Charac character, int index) {
+            String url = character.image();
+            Icon icon = thumbnails.getIconIfPresent(url);
+            
+            if (icon != null) {
+                return icon;
+            }
+            if (index >= 0 && url != null) {
+                thumbnails.request(url, true, loaded -> 
+                        SwingUtilities.invokeLater(() -> repaintCells(list, 
+                                url)));
+            }
+            return PLACEHOLDER;
+        }
+
+        // Solo se repintan las celdas visibles que muestran esa imagen.
+        private static void repaintCells(JList<?> list, String url) {
+            int first = list.getFirstVisibleIndex();
+            int last = Math.min(list.getLastVisibleIndex(), 
+                    list.getModel().getSize() - 1);
+            
+            for (int index = Math.max(first, 0); index <= last; index++) {
+                if (!(list.getModel().getElementAt(index) 
+                        instanceof Charac character) ||
+                        !url.equals(character.image())) {
+                    continue;
+                }
+                Rectangle bounds = list.getCellBounds(index, index);
+
+                if (bounds != null) {
+                    list.repaint(bounds);
+                }
+            }
+        }
+    }
+    
+    
+    // index es -1 al medir el prototipo.
+    private static <T> String cachedLabel(JList<?> list, int index, T value, 
+            Function<T, String> labeler) {
+        if (index >= 0 && list.getModel() instanceof BulkListModel<?> model &&
+                index < model.getSize()) {
+            return model.labelAt(index);
+        }
+        return labeler.apply(value);
+    }
+    
+    
+    static class PlaceholderIcon implements Icon {
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            g.setColor(Color.LIGHT_GRAY);
+            g.fillRect(x, y, getIconWidth(), getIconHeight());
+        }
+
+        @Override
+        public int getIconWidth() {
+            return ThumbnailLoader.THUMBNAIL_SIZE;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return ThumbnailLoader.THUMBNAIL_SIZE;
+        }
     }
 }
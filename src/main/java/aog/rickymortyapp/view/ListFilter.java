@@ -0,0 +1,143 @@
+package aog.rickymortyapp.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+
+// Filtro por texto para una JList con BulkListModel. Los elementos se
+// copian (en una vista de CharacterTable eso construye cada Charac) y sus
+// textos se formatean y filtran en el executor, fuera del EDT; el resultado
+// se publica en el EDT de una sola vez y solo si ningún cambio posterior
+// (de elementos o de texto) lo ha dejado obsoleto. La selección se
+// conserva si sigue visible un elemento con la misma key (el id).
+class ListFilter<T> {
+    // origin es la lista tal como llegó a setItems(), para saber si ha
+    // cambiado sin volver a copiarla.
+    private record Source<T>(List<T> origin, List<T> items, String[] labels, 
+            String[] keys) {}
+
+    private final JList<T> list;
+    private final BulkListModel<T> model;
+    private final Function<T, String> labeler;
+    private final Function<? super T, ?> key;
+    private final Executor executor;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile List<T> items = List.of();
+    private volatile String query = "";
+    // Solo lo toca el executor.
+    private Source<T> source = new Source<>(List.of(), List.of(), 
+            new String[0], new String[0]);
+    private Consumer<List<T>> onPublished = published -> {};
+
+    ListFilter(JList<T> list, BulkListModel<T> model, 
+            Function<T, String> labeler, Function<? super T, ?> key, 
+            Executor executor) {
+        this.list = list;
+        this.model = model;
+        this.labeler = labeler;
+        this.key = key;
+        this.executor = executor;
+    }
+
+    // Se llama en el EDT con los elementos visibles tras cada publicación.
+    void setOnPublished(Consumer<List<T>> onPublished) {
+        this.onPublished = onPublished;
+    }
+
+    void bind(JTextComponent field) {
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                setQuery(field.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                setQuery(field.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                setQuery(field.getText());
+            }
+        });
+    }
+
+    // items no se debe modificar después: se copia más tarde, en el
+    // executor.
+    void setItems(List<T> items) {
+        this.items = items;
+        refresh();
+    }
+
+    void setQuery(String query) {
+        this.query = query == null 
+                ? "" : query.trim().toLowerCase(Locale.ROOT);
+        refresh();
+    }
+
+    private void refresh() {
+        long current = generation.incrementAndGet();
+        executor.execute(() -> {
+            if (current != generation.get()) {
+                return;
+            }
+            List<T> pending = items;
+
+            if (source.origin() != pending) {
+                source = prepare(pending);
+            }
+            List<T> visible = new ArrayList<>();
+            List<String> visibleLabels = new ArrayList<>();
+            String text = query;
+
+            for (int i = 0; i < source.items().size(); i++) {
+                if (text.isEmpty() || source.keys()[i].contains(text)) {
+                    visible.add(source.items().get(i));
+                    visibleLabels.add(source.labels()[i]);
+                }
+            }
+            List<T> published = List.copyOf(visible);
+            String[] labels = visibleLabels.toArray(new String[0]);
+            SwingUtilities.invokeLater(() -> publish(current, published, 
+                    labels));
+        });
+    }
+
+    private Source<T> prepare(List<T> origin) {
+        List<T> items = List.copyOf(origin);
+        String[] labels = new String[items.size()];
+        String[] keys = new String[items.size()];
+
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = labeler.apply(items.get(i));
+            keys[i] = labels[i].toLowerCase(Locale.ROOT);
+        }
+        return new Source<>(origin, items, labels, keys);
+    }
+
+    private void publish(long published, List<T> visible, String[] labels) {
+        if (published != generation.get()) {
+            return;
+        }
+        T selected = list.getSelectedValue();
+        model.replace(visible, labels);
+        int index = model.indexOf(selected, key);
+
+        if (index >= 0) {
+            list.setSelectedIndex(index);
+        } else {
+            list.clearSelection();
+        }
+        onPublished.accept(visible);
+    }
+}
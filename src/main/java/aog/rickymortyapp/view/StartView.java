@@ -1,5 +1,6 @@
 package aog.rickymortyapp.view;
 
+import aog.rickymortyapp.viewModel.ProgressBus;
 import aog.rickymortyapp.viewModel.RickAndMortyViewModel;
 import javax.swing.*;
 import java.awt.*;
@@ -9,6 +10,8 @@ public class StartView extends JFrame {
     private JButton startButton;
     private JButton infoButton;
     private JLabel statusLabel;
+    // Solo en el EDT.
+    private boolean periodicRefreshStarted;
 
     public StartView(RickAndMortyViewModel viewModel) {
         this.viewModel = viewModel;
@@ -46,22 +49,36 @@ public class StartView extends JFrame {
     }
     
     private void setupListeners() {
+        ProgressBus progressBus = viewModel.getProgressBus();
+        progressBus.setDispatcher(SwingUtilities::invokeLater);
+        progressBus.addListener(
+                progress -> statusLabel.setText(progress.status()));
         
         startButton.addActionListener(e -> {
             startButton.setEnabled(false);
-            viewModel.setOnStatusUpdate(this::updateStatus);
             viewModel.setOnEpisodesLoaded(episodes -> {
                 SwingUtilities.invokeLater(() -> {
                     DataView dataView = new DataView(viewModel);
                     dataView.setVisible(true);
                 });
             });
+            // El refresco periódico se programa una sola vez, tras la
+            // primera carga correcta.
             viewModel.setOnLoadingComplete(completed -> {
                 SwingUtilities.invokeLater(() -> {
                     startButton.setEnabled(true);
+                    
+                    if (completed && !periodicRefreshStarted) {
+                        periodicRefreshStarted = true;
+                        RickAndMortyViewModel
+                            .refreshIntervalFromSystemProperty()
+                            .ifPresent(viewModel::startPeriodicRefresh);
+                    }
                 });
             });
-            new Thread(viewModel::loadData).start();
+            // Con datos ya cargados solo se piden los cambios.
+            new Thread(viewModel.hasEpisodes() 
+                    ? viewModel::refresh : viewModel::loadData).start();
         });
         
         infoButton.addActionListener(e -> {
@@ -71,10 +88,4 @@ public class StartView extends JFrame {
                 JOptionPane.INFORMATION_MESSAGE);
         });
     }
-    
-    private void updateStatus(String status) {
-        SwingUtilities.invokeLater(() -> {
-            statusLabel.setText(status);
-        });
-    }
 }
@@ -0,0 +1,420 @@
+package aog.rickymortyapp.view;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+// Descarga y decodifica los retratos de Charac.image fuera del EDT. Cada
+// imagen se reduce una sola vez a miniatura (submuestreando ya al
+// decodificar) y solo se guarda la miniatura: en memoria en un LRU limitado
+// por bytes y, opcionalmente, en disco como PNG. Las peticiones de filas
+// visibles pasan por delante de la precarga, y entre las visibles gana la
+// del último desplazamiento de la lista.
+//
+// Cada URL pendiente tiene una sola tarea en cola y un solo callback: pedirla
+// otra vez (cada repintado lo hace) como mucho sube su prioridad. Junto a la
+// miniatura se guarda su ImageIcon para que pintar no cree objetos.
+//
+// Solo un 4xx o una imagen que no se puede decodificar descartan la URL para
+// siempre; los fallos de red y los 5xx se reintentan pasado RETRY_AFTER.
+public class ThumbnailLoader {
+    public static final String DISK_PROPERTY = "rickymorty.thumbnails";
+    public static final int THUMBNAIL_SIZE = 48;
+    private static final long DEFAULT_MAX_BYTES = 8L * 1024 * 1024;
+    private static final int WORKERS = 4;
+    private static final long RETRY_AFTER_NANOS =
+            Duration.ofMinutes(1).toNanos();
+    private static final ThumbnailLoader SHARED = new ThumbnailLoader(
+            DEFAULT_MAX_BYTES, defaultDiskDirectory());
+
+    private record Task(String url, boolean visible, long epoch, long sequence)
+            implements Comparable<Task> {
+        @Override
+        public int compareTo(Task other) {
+            if (visible != other.visible) {
+                return visible ? -1 : 1;
+            }
+            if (epoch != other.epoch) {
+                return Long.compare(other.epoch, epoch);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private record Thumbnail(BufferedImage image, ImageIcon icon) {
+    }
+
+    // Se compara el tiempo transcurrido y no un instante de reintento:
+    // nanoTime puede ser negativo y sumarle un plazo desborda.
+    private record Failure(boolean permanent, long failedAtNanos) {
+        boolean expired(long nowNanos) {
+            return !permanent && nowNanos - failedAtNanos >= RETRY_AFTER_NANOS;
+        }
+    }
+
+    // task es null mientras un worker la está cargando.
+    private static final class Pending {
+        private Task task;
+        private Consumer<BufferedImage> onLoaded;
+    }
+
+    // Un 4xx o una imagen ilegible: reintentar no va a servir.
+    private static final class PermanentFailure extends IOException {
+        PermanentFailure(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private final long maxBytes;
+    private final Path diskDirectory;
+    private final HttpClient httpClient;
+    private final LinkedHashMap<String, Thumbnail> memory;
+    private long memoryBytes;
+    private final PriorityBlockingQueue<Task> queue =
+            new PriorityBlockingQueue<>();
+    private final Map<String, Pending> waiting = new HashMap<>();
+    private final Map<String, Failure> failed = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long epoch;
+
+    // diskDirectory null desactiva la caché en disco.
+    public ThumbnailLoader(long maxBytes, Path diskDirectory) {
+        this.maxBytes = maxBytes;
+        this.diskDirectory = diskDirectory;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.memory = new LinkedHashMap<>(64, 0.75f, true);
+
+        for (int i = 0; i < WORKERS; i++) {
+            Thread.ofVirtual().name("thumbnail-loader-" + i)
+                    .start(this::workLoop);
+        }
+    }
+
+    public static ThumbnailLoader shared() {
+        return SHARED;
+    }
+
+    // -Drickymorty.thumbnails=off desactiva el disco; cualquier otro valor
+    // es el directorio a usar.
+    private static Path defaultDiskDirectory() {
+        String configured = System.getProperty(DISK_PROPERTY);
+
+        if (configured == null) {
+            return Paths.get(System.getProperty("user.home"),
+                    ".rickymortyapp", "thumbnails");
+        }
+        return "off".equalsIgnoreCase(configured.trim())
+                ? null : Paths.get(configured);
+    }
+
+    public synchronized BufferedImage getIfPresent(String url) {
+        Thumbnail thumbnail = url == null ? null : memory.get(url);
+        return thumbnail != null ? thumbnail.image() : null;
+    }
+
+    public synchronized Icon getIconIfPresent(String url) {
+        Thumbnail thumbnail = url == null ? null : memory.get(url);
+        return thumbnail != null ? thumbnail.icon() : null;
+    }
+
+    // Marca el inicio de un nuevo conjunto de filas visibles: las
+    // peticiones que lleguen a partir de ahora van antes que las anteriores.
+    public void newVisibleEpoch() {
+        epoch++;
+    }
+
+    // onLoaded (puede ser null) se llama desde un hilo de carga, nunca con
+    // null; si la imagen no se puede obtener no se llama. Si la URL ya está
+    // pendiente se conserva el callback que tuviera, así que debe valer para
+    // cualquier petición de esa URL.
+    public void request(String url, boolean visible,
+            Consumer<BufferedImage> onLoaded) {
+        if (url == null || url.isBlank() || hasFailed(url)) {
+            return;
+        }
+        BufferedImage cached = enqueue(url, visible, onLoaded);
+
+        if (cached != null && onLoaded != null) {
+            onLoaded.accept(cached);
+        }
+    }
+
+    // Devuelve la imagen si ya estaba en memoria; si no, deja la URL
+    // pendiente con su mejor prioridad.
+    private synchronized BufferedImage enqueue(String url, boolean visible,
+            Consumer<BufferedImage> onLoaded) {
+        Thumbnail cached = memory.get(url);
+
+        if (cached != null) {
+            return cached.image();
+        }
+        Task task = new Task(url, visible, epoch, sequence.getAndIncrement());
+        Pending pending = waiting.get(url);
+
+        if (pending == null) {
+            pending = new Pending();
+            pending.task = task;
+            waiting.put(url, pending);
+            queue.offer(task);
+        } else if (pending.task != null && task.compareTo(pending.task) < 0 &&
+                queue.remove(pending.task)) {
+            pending.task = task;
+            queue.offer(task);
+        }
+        if (pending.onLoaded == null) {
+            pending.onLoaded = onLoaded;
+        }
+        return null;
+    }
+
+    private boolean hasFailed(String url) {
+        Failure failure = failed.get(url);
+
+        if (failure == null) {
+            return false;
+        }
+        if (!failure.expired(System.nanoTime())) {
+            return true;
+        }
+        failed.remove(url, failure);
+        return false;
+    }
+
+    // Solo la tarea vigente de una URL llega a cargarla.
+    private synchronized boolean startLoading(Task task) {
+        Pending pending = waiting.get(task.url());
+
+        if (pending == null || !task.equals(pending.task)) {
+            return false;
+        }
+        pending.task = null;
+        return true;
+    }
+
+    private synchronized Consumer<BufferedImage> finishLoading(String url) {
+        Pending pending = waiting.remove(url);
+        return pending != null ? pending.onLoaded : null;
+    }
+
+    public synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    private void workLoop() {
+        while (true) {
+            Task task;
+
+            try {
+                task = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (!startLoading(task)) {
+                continue;
+            }
+            BufferedImage image = null;
+
+            try {
+                image = load(task.url());
+            } catch (Exception ex) {
+                failed.put(task.url(), new Failure(
+                        ex instanceof PermanentFailure, System.nanoTime()));
+                System.err.println("Error loading thumbnail " + task.url() +
+                        ": " + ex.getMessage());
+            }
+            Consumer<BufferedImage> callback = finishLoading(task.url());
+
+            if (image != null && callback != null) {
+                callback.accept(image);
+            }
+        }
+    }
+
+    private BufferedImage load(String url) throws IOException,
+            InterruptedException {
+        BufferedImage image = getIfPresent(url);
+
+        if (image != null) {
+            return image;
+        }
+        Path diskFile = diskFile(url);
+
+        if (diskFile != null && Files.isRegularFile(diskFile)) {
+            try {
+                image = ImageIO.read(diskFile.toFile());
+            } catch (IOException ex) {
+                // Un fichero dañado se vuelve a descargar.
+                image = null;
+            }
+        }
+        if (image == null) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request,
+                    HttpResponse.BodyHandlers.ofByteArray());
+
+            int status = response.statusCode();
+
+            if (status >= 400 && status < 500) {
+                throw new PermanentFailure("HTTP " + status, null);
+            }
+            if (status != 200) {
+                throw new IOException("HTTP " + status);
+            }
+            try {
+                image = toThumbnail(response.body());
+            } catch (IOException | RuntimeException ex) {
+                throw new PermanentFailure(
+                        "Undecodable image: " + ex.getMessage(), ex);
+            }
+            saveToDisk(diskFile, image);
+        }
+        remember(url, image);
+        return image;
+    }
+
+    private synchronized void remember(String url, BufferedImage image) {
+        Thumbnail previous = memory.put(url,
+                new Thumbnail(image, new ImageIcon(image)));
+
+        if (previous != null) {
+            memoryBytes -= sizeOf(previous.image());
+        }
+        memoryBytes += sizeOf(image);
+        Iterator<Thumbnail> eldest = memory.values().iterator();
+
+        while (memoryBytes > maxBytes && memory.size() > 1) {
+            memoryBytes -= sizeOf(eldest.next().image());
+            eldest.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    // Decodifica submuestreando a un tamaño cercano al de la miniatura para
+    // no tener nunca en memoria la imagen completa a resolución original.
+    static BufferedImage toThumbnail(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(
+                new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1,
+                        Math.min(width, height) / (THUMBNAIL_SIZE * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scale(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source) {
+        double ratio = Math.min(
+                (double) THUMBNAIL_SIZE / source.getWidth(),
+                (double) THUMBNAIL_SIZE / source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage target = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private Path diskFile(String url) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(url.getBytes(StandardCharsets.UTF_8));
+            return diskDirectory.resolve(
+                    HexFormat.of().formatHex(digest, 0, 16) + ".png");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void saveToDisk(Path diskFile, BufferedImage image) {
+        if (diskFile == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskFile.getParent());
+            Path temp = Files.createTempFile(diskFile.getParent(),
+                    "thumb", ".tmp");
+
+            try {
+                ImageIO.write(image, "png", temp.toFile());
+                try {
+                    Files.move(temp, diskFile,
+                            StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(temp, diskFile,
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException ex) {
+            System.err.println("Error saving thumbnail to " + diskFile +
+                    ": " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package aog.rickymortyapp.viewModel;
+
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.ResourceIds;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+// Estimación del número de peticiones para resolver los personajes de
+// todos los episodios y estrategia elegida:
+//  - catálogo: /character?page=N hasta el mayor id referenciado;
+//  - multi-id: por episodio, bloques de maxIdsPerCall ids aún no vistos;
+//  - por id: una petición por id único no cacheado.
+// El catálogo solo es viable si cabe entero en la caché de personajes.
+// Si episodes es solo una muestra (la página 1), los recuentos se
+// extrapolan linealmente a totalEpisodes.
+record CharacterLoadPlan(
+    CharacterLoadStrategy strategy,
+    boolean batchFetching,
+    int uniqueIds,
+    int catalogRequests,
+    int multiIdRequests,
+    int perIdRequests
+) {
+    static CharacterLoadPlan estimate(List<Episode> episodes, 
+            IntPredicate cached, CharacterLoadStrategy requested, 
+            boolean batchFetching, int maxIdsPerCall, int pageSize, 
+            int cacheCapacity, int totalEpisodes) {
+        Set<Integer> seen = new HashSet<>();
+        int maxId = 0;
+        int multiId = 0;
+        int perId = 0;
+
+        for (Episode episode : episodes) {
+            if (episode.characters() == null) {
+                continue;
+            }
+            int fresh = 0;
+
+            for (String url : episode.characters()) {
+                int id = ResourceIds.parse(url);
+
+                if (id < 0) {
+                    perId++;
+                    continue;
+                }
+                maxId = Math.max(maxId, id);
+
+                if (seen.add(id) && !cached.test(id)) {
+                    fresh++;
+                }
+            }
+            perId += fresh;
+            multiId += (fresh + maxIdsPerCall - 1) / maxIdsPerCall;
+        }
+        double scale = episodes.isEmpty() 
+                ? 1 : Math.max(1, totalEpisodes / (double) episodes.size());
+        int uniqueIds = (int) Math.ceil(seen.size() * scale);
+        maxId = (int) Math.ceil(maxId * scale);
+        multiId = (int) Math.ceil(multiId * scale);
+        perId = (int) Math.ceil(perId * scale);
+        int catalog = (maxId + pageSize - 1) / pageSize;
+        int byReference = batchFetching ? multiId : perId;
+        CharacterLoadStrategy strategy = requested;
+
+        if (requested == CharacterLoadStrategy.AUTO) {
+            strategy = maxId <= cacheCapacity && catalog < byReference
+                    ? CharacterLoadStrategy.CATALOG_SCAN 
+                    : CharacterLoadStrategy.BY_REFERENCE;
+        }
+        return new CharacterLoadPlan(strategy, batchFetching, uniqueIds, 
+                catalog, multiId, perId);
+    }
+
+    int estimatedRequests() {
+        if (strategy == CharacterLoadStrategy.CATALOG_SCAN) {
+            return catalogRequests;
+        }
+        return batchFetching ? multiIdRequests : perIdRequests;
+    }
+
+    @Override
+    public String toString() {
+        String chosen = strategy == CharacterLoadStrategy.CATALOG_SCAN 
+                ? "escaneo del catálogo" 
+                : batchFetching ? "multi-id" : "por id";
+        return chosen + " (" + uniqueIds + " personajes; peticiones " + 
+                "estimadas: catálogo " + catalogRequests + ", multi-id " + 
+                multiIdRequests + ", por id " + perIdRequests + ")";
+    }
+}
@@ -0,0 +1,20 @@
+package aog.rickymortyapp.viewModel;
+
+public enum CharacterLoadStrategy {
+    AUTO,
+    CATALOG_SCAN,
+    BY_REFERENCE;
+
+    public static final String PROPERTY = "rickymorty.characters";
+
+    // -Drickymorty.characters=catalog|references fuerza una estrategia; por
+    // defecto se elige la que se estima más barata en peticiones.
+    public static CharacterLoadStrategy fromSystemProperty() {
+        String value = System.getProperty(PROPERTY, "auto").trim();
+        
+        if ("catalog".equalsIgnoreCase(value)) {
+            return CATALOG_SCAN;
+        }
+        return "references".equalsIgnoreCase(value) ? BY_REFERENCE : AUTO;
+    }
+}
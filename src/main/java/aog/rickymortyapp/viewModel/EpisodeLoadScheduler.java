@@ -0,0 +1,182 @@
+package aog.rickymortyapp.viewModel;
+
+import aog.rickymortyapp.metrics.LoadMetrics;
+import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.service.RequestPriority;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+// Cola de prioridad para la carga de personajes por episodio. Un número fijo
+// de workers consume la cola; promote() reordena episodios aún no empezados
+// (un episodio puede tener varias entradas, gana la primera que se reclama).
+// Los seleccionados no esperan a un worker libre: se lanzan al momento y
+// sus peticiones pasan por delante en el RequestGovernor. Los episodios
+// pueden ir llegando con add() mientras se cargan los primeros; la carga
+// termina cuando, tras seal(), no queda ninguno pendiente.
+class EpisodeLoadScheduler {
+    enum Priority {
+        SELECTED,
+        HOVERED,
+        NEIGHBOR,
+        BACKGROUND
+    }
+
+    // skipped: episodios que quedaron sin cargar (0 salvo cancelación).
+    @FunctionalInterface
+    interface FinishListener {
+        void finished(int skipped, boolean cancelled);
+    }
+
+    private record Task(Episode episode, Priority priority, long sequence,
+            long enqueuedNanos) implements Comparable<Task> {
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0
+                    ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final PriorityBlockingQueue<Task> queue =
+            new PriorityBlockingQueue<>();
+    private final Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean sealed;
+    private final BiConsumer<Episode, RequestPriority> loader;
+    private final FinishListener onFinished;
+    private final LoadMetrics metrics;
+    private final ExecutorService scope;
+    private final int workers;
+
+    // onFinished se llama una sola vez, al terminar o al cancelar.
+    EpisodeLoadScheduler(ExecutionMode executionMode, int workers,
+            BiConsumer<Episode, RequestPriority> loader,
+            FinishListener onFinished, LoadMetrics metrics) {
+        this.workers = workers;
+        this.metrics = metrics;
+        this.loader = loader;
+        this.onFinished = onFinished;
+        this.scope = executionMode == ExecutionMode.VIRTUAL_THREADS
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newThreadPerTaskExecutor(Thread.ofPlatform()
+                        .name("episode-loader-", 0).factory());
+    }
+
+    // Tras cancel() no arranca nada.
+    void start() {
+        try {
+            for (int i = 0; i < workers; i++) {
+                scope.submit(this::workLoop);
+            }
+        } catch (RejectedExecutionException ex) {
+            // Cancelado mientras arrancaba.
+        }
+    }
+
+    void add(Episode episode) {
+        if (sealed) {
+            throw new IllegalStateException("Scheduler already sealed");
+        }
+        if (!pending.add(episode.id())) {
+            return;
+        }
+        remaining.incrementAndGet();
+        offer(episode, Priority.BACKGROUND);
+    }
+
+    // No llegarán más episodios.
+    void seal() {
+        sealed = true;
+        finishIfDone();
+    }
+
+    // Devuelve false si el episodio ya estaba en carga o cargado.
+    boolean promote(Episode episode, Priority priority) {
+        if (!pending.contains(episode.id()) ||
+                claimed.contains(episode.id())) {
+            return false;
+        }
+        if (priority != Priority.SELECTED) {
+            offer(episode, priority);
+            return true;
+        }
+        if (!claimed.add(episode.id())) {
+            return false;
+        }
+        long enqueued = System.nanoTime();
+
+        try {
+            scope.submit(() -> run(episode, priority, enqueued));
+        } catch (RejectedExecutionException ex) {
+            claimed.remove(episode.id());
+            return false;
+        }
+        return true;
+    }
+
+    void cancel() {
+        scope.shutdownNow();
+        queue.clear();
+        finish(remaining.get(), true);
+    }
+
+    private void offer(Episode episode, Priority priority) {
+        queue.offer(new Task(episode, priority, sequence.getAndIncrement(),
+                System.nanoTime()));
+    }
+
+    private void workLoop() {
+        try {
+            while (!sealed || remaining.get() > 0) {
+                Task task = queue.poll(200, TimeUnit.MILLISECONDS);
+
+                if (task == null || !claimed.add(task.episode().id())) {
+                    continue;
+                }
+                run(task.episode(), task.priority(), task.enqueuedNanos());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // La espera se mide desde la entrada que finalmente se ejecuta: un
+    // episodio promovido cuenta desde su promoción.
+    private void run(Episode episode, Priority priority, long enqueuedNanos) {
+        metrics.recordQueueWait(System.nanoTime() - enqueuedNanos);
+
+        try {
+            loader.accept(episode, priority == Priority.BACKGROUND ||
+                    priority == Priority.NEIGHBOR
+                    ? RequestPriority.NORMAL : RequestPriority.URGENT);
+        } finally {
+            remaining.decrementAndGet();
+            finishIfDone();
+        }
+    }
+
+    private void finishIfDone() {
+        if (sealed && remaining.get() == 0) {
+            finish(0, false);
+            scope.shutdown();
+        }
+    }
+
+    private void finish(int skipped, boolean cancelled) {
+        if (finished.compareAndSet(false, true)) {
+            onFinished.finished(skipped, cancelled);
+        }
+    }
+}
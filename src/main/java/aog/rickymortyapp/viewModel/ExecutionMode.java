@@ -0,0 +1,25 @@
+package aog.rickymortyapp.viewModel;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public enum ExecutionMode {
+    PLATFORM_THREADS,
+    VIRTUAL_THREADS;
+
+    public static final String PROPERTY = "rickymorty.execution";
+
+    // -Drickymorty.execution=virtual selecciona los hilos virtuales.
+    public static ExecutionMode fromSystemProperty() {
+        String value = System.getProperty(PROPERTY, "platform");
+        return "virtual".equalsIgnoreCase(value.trim())
+                ? VIRTUAL_THREADS : PLATFORM_THREADS;
+    }
+
+    public ExecutorService newServiceExecutor() {
+        return switch (this) {
+            case PLATFORM_THREADS -> Executors.newFixedThreadPool(10);
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+    }
+}
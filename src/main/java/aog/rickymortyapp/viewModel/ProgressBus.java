@@ -0,0 +1,150 @@
+package aog.rickymortyapp.viewModel;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Bus de eventos de progreso. publish() solo actualiza contadores atómicos
+// y encola el evento; como mucho una vez por frame un hilo propio vacía la
+// cola, escribe el log en un único bloque y entrega a los listeners una
+// instantánea a través del dispatcher (en Swing, SwingUtilities::invokeLater,
+// con lo que el EDT recibe un solo evento por frame). El log va por
+// defecto a la salida de error: la estándar puede llevar una exportación.
+public class ProgressBus {
+    public static final long FRAME_NANOS = 16_666_667L;
+
+    private final ScheduledExecutorService timer;
+    private final ConcurrentLinkedQueue<ProgressEvent> pending = 
+            new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final List<Consumer<ProgressSnapshot>> listeners = 
+            new CopyOnWriteArrayList<>();
+    private volatile Executor dispatcher = Runnable::run;
+    private volatile PrintStream log = System.err;
+    private volatile long lastFlushNanos;
+
+    public ProgressBus() {
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-bus");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Ejecutor en el que se llama a los listeners; por defecto el propio
+    // hilo del bus.
+    public void setDispatcher(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    // null desactiva el log.
+    public void setLog(PrintStream log) {
+        this.log = log;
+    }
+
+    public void addListener(Consumer<ProgressSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<ProgressSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    public void publish(ProgressEvent event) {
+        switch (event) {
+            case ProgressEvent.LoadStarted e -> {
+                total.set(e.totalEpisodes());
+                started.set(0);
+                finished.set(0);
+                failed.set(0);
+                loading.set(true);
+            }
+            case ProgressEvent.EpisodeStarted e -> started.incrementAndGet();
+            case ProgressEvent.EpisodeFinished e -> finished.incrementAndGet();
+            case ProgressEvent.EpisodeFailed e -> {
+                finished.incrementAndGet();
+                failed.incrementAndGet();
+            }
+            case ProgressEvent.LoadFinished e -> loading.set(false);
+            case ProgressEvent.Status e -> {
+            }
+        }
+        pending.add(event);
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            long delay = lastFlushNanos + FRAME_NANOS - System.nanoTime();
+            timer.schedule(this::flush, Math.max(0, delay), 
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void shutdown() {
+        timer.shutdown();
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        lastFlushNanos = System.nanoTime();
+        List<ProgressEvent> events = new ArrayList<>();
+        ProgressEvent event;
+
+        while ((event = pending.poll()) != null) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        writeLog(events);
+        ProgressSnapshot snapshot = new ProgressSnapshot(total.get(), 
+                started.get(), finished.get(), failed.get(), loading.get(), 
+                describe(events.get(events.size() - 1)), List.copyOf(events));
+
+        if (!listeners.isEmpty()) {
+            dispatcher.execute(() -> {
+                for (Consumer<ProgressSnapshot> listener : listeners) {
+                    listener.accept(snapshot);
+                }
+            });
+        }
+    }
+
+    private String describe(ProgressEvent last) {
+        if (last instanceof ProgressEvent.EpisodeStarted || 
+                last instanceof ProgressEvent.EpisodeFinished || 
+                last instanceof ProgressEvent.EpisodeFailed) {
+            return "Cargando personajes: " + finished.get() + "/" + 
+                    total.get() + " episodios" + (failed.get() > 0 
+                            ? " (" + failed.get() + " con errores)" : "");
+        }
+        return last.toString();
+    }
+
+    private void writeLog(List<ProgressEvent> events) {
+        PrintStream out = log;
+
+        if (out == null) {
+            return;
+        }
+        StringBuilder block = new StringBuilder(events.size() * 64);
+
+        for (ProgressEvent event : events) {
+            block.append("Status: ").append(event).append('\n');
+        }
+        out.print(block);
+        out.flush();
+    }
+}
@@ -0,0 +1,53 @@
+package aog.rickymortyapp.viewModel;
+
+// Eventos de progreso que publica el ViewModel desde los hilos de carga.
+// Son datos, no texto: el formateo se hace en el hilo del ProgressBus.
+public sealed interface ProgressEvent {
+
+    record Status(String message) implements ProgressEvent {
+        @Override
+        public String toString() {
+            return message;
+        }
+    }
+
+    record LoadStarted(int totalEpisodes) implements ProgressEvent {
+        @Override
+        public String toString() {
+            return "Cargando personajes de " + totalEpisodes + " episodios";
+        }
+    }
+
+    record EpisodeStarted(int episodeId, String name) implements ProgressEvent {
+        @Override
+        public String toString() {
+            return "Cargando personajes para episodio: " + name;
+        }
+    }
+
+    record EpisodeFinished(int episodeId, String name, int characters)
+            implements ProgressEvent {
+        @Override
+        public String toString() {
+            return "Personajes cargados para episodio: " + name + " (" + 
+                    characters + " personajes)";
+        }
+    }
+
+    record EpisodeFailed(int episodeId, String name, String error)
+            implements ProgressEvent {
+        @Override
+        public String toString() {
+            return "Error cargando personajes para " + name + ": " + error;
+        }
+    }
+
+    record LoadFinished(boolean success, int errors) implements ProgressEvent {
+        @Override
+        public String toString() {
+            return success && errors == 0 
+                    ? "Carga finalizada" 
+                    : "Carga finalizada con " + errors + " errores";
+        }
+    }
+}
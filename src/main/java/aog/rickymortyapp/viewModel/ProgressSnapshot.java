@@ -0,0 +1,15 @@
+package aog.rickymortyapp.viewModel;
+
+import java.util.List;
+
+// Estado agregado de la carga en el momento de un flush del ProgressBus,
+// junto con los eventos recibidos desde el anterior.
+public record ProgressSnapshot(
+    int totalEpisodes,
+    int startedEpisodes,
+    int finishedEpisodes,
+    int failedEpisodes,
+    boolean loading,
+    String status,
+    List<ProgressEvent> events
+) {}
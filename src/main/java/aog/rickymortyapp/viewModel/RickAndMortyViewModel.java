@@ -1,36 +1,140 @@
 package aog.rickymortyapp.viewModel;
 
+import aog.rickymortyapp.metrics.Endpoint;
+import aog.rickymortyapp.metrics.HistogramSnapshot;
+import aog.rickymortyapp.metrics.HttpMetrics;
+import aog.rickymortyapp.metrics.LoadMetrics;
+import aog.rickymortyapp.metrics.Metrics;
+import aog.rickymortyapp.metrics.MetricsSnapshot;
 import aog.rickymortyapp.model.Charac;
+import aog.rickymortyapp.model.CharacterIndex;
+import aog.rickymortyapp.model.CharacterTable;
+import aog.rickymortyapp.model.CoAppearance;
+import aog.rickymortyapp.model.CoAppearanceMatrix;
 import aog.rickymortyapp.model.Episode;
+import aog.rickymortyapp.model.Info;
+import aog.rickymortyapp.model.PaginatedResponse;
+import aog.rickymortyapp.model.ResourceIds;
 import aog.rickymortyapp.service.ApiService;
+import aog.rickymortyapp.service.CacheStats;
+import aog.rickymortyapp.service.CharacterCache;
+import aog.rickymortyapp.service.ConditionalPage;
+import aog.rickymortyapp.service.GovernorStats;
+import aog.rickymortyapp.service.RequestPriority;
+import aog.rickymortyapp.service.ResilienceStats;
+import aog.rickymortyapp.service.Snapshot;
+import aog.rickymortyapp.service.SnapshotStore;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public class RickAndMortyViewModel {
+    private static final int EPISODE_PARALLELISM = 8;
+    private static final int CATALOG_PAGES_AHEAD = 4;
+    // -Drickymorty.refreshSeconds=N refresca los episodios cada N segundos
+    // en segundo plano tras la primera carga.
+    public static final String REFRESH_PROPERTY = "rickymorty.refreshSeconds";
     private final ApiService apiService;
     private final ConcurrentHashMap<String, List<Episode>> seasonEpisodes;
-    private final ConcurrentHashMap<Integer, List<Charac>> episodeCharacters;
-    private final Semaphore loadingSemaphore;
+    private final ConcurrentHashMap<Integer, int[]> episodeCharacterIds;
+    private final CharacterTable characterTable;
+    private final CharacterIndex characterIndex;
+    private final CoAppearanceMatrix coAppearances;
+    // Personajes de la tabla que son provisionales (circuito abierto).
+    private final Set<Integer> placeholderIds = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Integer, Episode> episodesById;
+    private final ConcurrentHashMap<Integer, CompletableFuture<List<Charac>>> 
+            episodeFutures;
+    private final ExecutionMode executionMode;
+    private volatile EpisodeLoadScheduler loadScheduler;
+    private volatile EpisodeStream episodeStream;
+    private volatile int selectedEpisodeId;
+    private TimeToCharactersStats timeToCharacters = 
+            TimeToCharactersStats.EMPTY;
+    private final LoadMetrics loadMetrics = new LoadMetrics();
+    private final Metrics metricsBean;
+    private final SnapshotStore snapshotStore;
+    private volatile boolean snapshotEnabled = true;
+    private volatile List<Episode> loadedEpisodes = List.of();
+    // ETag de la página 1 de episodios con la que se obtuvo loadedEpisodes,
+    // y la Info de esa respuesta (count y pages).
+    private volatile String episodesEtag;
+    private volatile Info episodesInfo;
+    // Una sola carga o refresco a la vez; se suelta en completeLoading().
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private ScheduledExecutorService refreshScheduler;
+    private ScheduledFuture<?> periodicRefresh;
+    private volatile boolean retainResults = true;
+    private volatile int episodeParallelism = EPISODE_PARALLELISM;
+    private volatile CharacterLoadStrategy characterLoadStrategy = 
+            CharacterLoadStrategy.fromSystemProperty();
+    private volatile CharacterLoadPlan characterLoadPlan;
+    private volatile long characterRequestsBaseline;
     
-    private Consumer<String> onStatusUpdate;
+    private final ProgressBus progressBus = new ProgressBus();
+    private BiConsumer<Episode, List<Charac>> onEpisodeCharactersLoaded;
     private Consumer<Map<String, List<Episode>>> onEpisodesLoaded;
     private Consumer<Boolean> onLoadingComplete;
+    private final List<Consumer<Set<Integer>>> episodesChangedListeners = 
+            new CopyOnWriteArrayList<>();
 
     public RickAndMortyViewModel() {
-        this.apiService = new ApiService();
+        this(ExecutionMode.fromSystemProperty());
+    }
+
+    public RickAndMortyViewModel(ExecutionMode executionMode) {
+        this(executionMode, new ApiService(CharacterCache.shared(), 
+                executionMode.newServiceExecutor()));
+    }
+
+    public RickAndMortyViewModel(ExecutionMode executionMode, 
+            ApiService apiService) {
+        this.executionMode = executionMode;
+        this.apiService = apiService;
         this.seasonEpisodes = new ConcurrentHashMap<>();
-        this.episodeCharacters = new ConcurrentHashMap<>();
-        this.loadingSemaphore = new Semaphore(2);
+        this.episodeCharacterIds = new ConcurrentHashMap<>();
+        this.characterTable = new CharacterTable();
+        this.characterIndex = new CharacterIndex(characterTable);
+        this.coAppearances = new CoAppearanceMatrix();
+        this.episodesById = new ConcurrentHashMap<>();
+        this.episodeFutures = new ConcurrentHashMap<>();
+        this.snapshotStore = SnapshotStore.defaultStore();
+        this.metricsBean = new Metrics(this::getMetricsSnapshot);
+        metricsBean.register();
+        apiService.setRetryListener(message -> 
+                progressBus.publish(new ProgressEvent.Status(message)));
+    }
+
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
     }
 
-    public void setOnStatusUpdate(Consumer<String> onStatusUpdate) {
-        this.onStatusUpdate = onStatusUpdate;
+    // Los mensajes de estado y el progreso de la carga llegan a las vistas
+    // agregados a través del bus, como mucho una vez por frame.
+    public ProgressBus getProgressBus() {
+        return progressBus;
     }
 
     public void setOnEpisodesLoaded(Consumer<Map<String, List<Episode>>> 
@@ -38,149 +142,993 @@ public class RickAndMortyViewModel {
         this.onEpisodesLoaded = onEpisodesLoaded;
     }
     
+    // Tras un refresco con cambios recibe los ids de los episodios nuevos,
+    // modificados o eliminados; getSeasonEpisodes() ya los refleja.
+    public void addEpisodesChangedListener(Consumer<Set<Integer>> listener) {
+        episodesChangedListeners.add(listener);
+    }
+
+    public void removeEpisodesChangedListener(
+            Consumer<Set<Integer>> listener) {
+        episodesChangedListeners.remove(listener);
+    }
+
     public void setOnLoadingComplete(Consumer<Boolean> onLoadingComplete) {
         this.onLoadingComplete = onLoadingComplete;
     }
 
+    // Se llama desde los hilos de carga, en orden de finalización, cada vez
+    // que un episodio tiene sus personajes resueltos.
+    public void setOnEpisodeCharactersLoaded(
+            BiConsumer<Episode, List<Charac>> onEpisodeCharactersLoaded) {
+        this.onEpisodeCharactersLoaded = onEpisodeCharactersLoaded;
+    }
+
+    // Con false los personajes solo se entregan a 
+    // onEpisodeCharactersLoaded: no se guardan en la tabla ni en los
+    // índices, así que la memoria no crece con el tamaño del catálogo.
+    public void setRetainResults(boolean retainResults) {
+        this.retainResults = retainResults;
+    }
+
+    public void setEpisodeParallelism(int episodeParallelism) {
+        if (episodeParallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "episodeParallelism must be positive: " + 
+                    episodeParallelism);
+        }
+        this.episodeParallelism = episodeParallelism;
+    }
+
+    public void setCharacterLoadStrategy(
+            CharacterLoadStrategy characterLoadStrategy) {
+        this.characterLoadStrategy = characterLoadStrategy;
+    }
+
     public void loadData() {
-        updateStatus("Cargando episodios...");
+        if (!beginLoading()) {
+            return;
+        }
+        Optional<Snapshot> snapshot = snapshotEnabled 
+                ? snapshotStore.load() : Optional.empty();
         
-        apiService.getAllEpisodes()
-            .thenAccept(episodes -> {
+        if (snapshot.isPresent()) {
+            loadFromSnapshot(snapshot.get());
+            return;
+        }
+        loadFromApi(true);
+    }
+
+    // Los episodios llegan página a página y cada uno pasa al planificador
+    // en cuanto se recibe: los personajes de la primera página se empiezan
+    // a cargar mientras las siguientes siguen en camino.
+    private void loadFromApi(boolean notifyEpisodes) {
+        updateStatus("Cargando episodios...");
+        episodesEtag = null;
+        episodesInfo = null;
+        characterLoadPlan = null;
+        characterRequestsBaseline = characterRequests();
+        EpisodeStream stream = new EpisodeStream(notifyEpisodes);
+        episodeStream = stream;
+        apiService.publishEpisodes(ApiService.DEFAULT_PAGES_AHEAD, info -> {
+            stream.onInfo(info);
+            progressBus.publish(new ProgressEvent.LoadStarted(info.count()));
+        }, stream::onFirstEtag).subscribe(stream);
+    }
+
+    // Sin retainResults no se guarda ningún episodio: cada uno pasa al
+    // planificador y se suelta al cargarse, y no hay temporadas que
+    // construir al final.
+    //
+    // Con AUTO la estrategia de personajes se decide en cuanto llega la
+    // página 1, extrapolando su estimación a Info.count, y los workers (o
+    // la descarga del catálogo) arrancan entonces, sin esperar al resto de
+    // páginas. Con CATALOG_SCAN forzado el catálogo se descarga desde el
+    // primer episodio y los workers esperan a que termine.
+    //
+    // cancel() cancela la suscripción y el planificador; lo que llegue
+    // después (páginas ya en vuelo, el fin del catálogo) se ignora. Los
+    // métodos que tocan el planificador se sincronizan con cancel().
+    private final class EpisodeStream implements Flow.Subscriber<Episode> {
+        private final boolean notifyEpisodes;
+        private final boolean retain = retainResults;
+        private final List<Episode> episodes = new ArrayList<>();
+        // Episodios de la página 1, para la estimación de AUTO.
+        private final List<Episode> sample = new ArrayList<>();
+        private final AtomicInteger errorCount = new AtomicInteger(0);
+        private final CharacterLoadStrategy strategy = characterLoadStrategy;
+        private volatile int totalEpisodes = -1;
+        private volatile int firstPageSize = -1;
+        private volatile Info info;
+        private volatile String firstEtag;
+        private boolean pageFailed;
+        private int received;
+        private EpisodeLoadScheduler scheduler;
+        private boolean estimated;
+        private boolean workersStarted;
+        private boolean terminated;
+        private boolean cancelled;
+        private Flow.Subscription subscription;
+
+        EpisodeStream(boolean notifyEpisodes) {
+            this.notifyEpisodes = notifyEpisodes;
+        }
+
+        void onFirstEtag(String etag) {
+            firstEtag = etag;
+        }
+
+        // Llega antes que cualquier episodio de la página 1.
+        void onInfo(Info info) {
+            this.info = info;
+            totalEpisodes = info.count();
+            firstPageSize = info.pages() <= 1 
+                    ? info.count() 
+                    : Math.min(info.count(), ApiService.EPISODE_PAGE_SIZE);
+        }
+
+        private EpisodeLoadScheduler scheduler() {
+            if (scheduler == null) {
+                scheduler = newCharacterScheduler(errorCount, false);
+
+                if (strategy != CharacterLoadStrategy.AUTO) {
+                    begin(strategy);
+                }
+            }
+            return scheduler;
+        }
+
+        private void begin(CharacterLoadStrategy chosen) {
+            if (chosen == CharacterLoadStrategy.CATALOG_SCAN) {
+                syncCatalogThenStart();
+            } else {
+                startWorkers();
+            }
+        }
+
+        // Con una estrategia forzada la estimación solo se informa.
+        private void estimate() {
+            estimated = true;
+            int total = Math.max(totalEpisodes, sample.size());
+            CharacterLoadPlan plan = CharacterLoadPlan.estimate(sample, 
+                    id -> apiService.getCharacterCache().peek(id) != null, 
+                    strategy, apiService.isBatchFetching(), 
+                    apiService.getMaxIdsPerCall(), 
+                    ApiService.CHARACTER_PAGE_SIZE, 
+                    apiService.getCharacterCache().maxEntries(), total);
+            characterLoadPlan = plan;
+            updateStatus("Estrategia de personajes (estimada con " + 
+                    sample.size() + " de " + total + " episodios): " + plan);
+            sample.clear();
+
+            if (strategy == CharacterLoadStrategy.AUTO) {
+                begin(plan.strategy());
+            }
+        }
+
+        private synchronized void startWorkers() {
+            if (!workersStarted && !cancelled) {
+                workersStarted = true;
+                scheduler.start();
+            }
+        }
+
+        synchronized void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            if (scheduler != null) {
+                scheduler.cancel();
+            } else if (!terminated) {
+                updateStatus("Carga cancelada.");
+                completeLoading(false, 0);
+            }
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            // Recibir es barato; el publicador ya limita las páginas en
+            // vuelo.
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public synchronized void onNext(Episode episode) {
+            if (cancelled) {
+                return;
+            }
+            received++;
+
+            if (retain) {
+                episodes.add(episode);
+                episodesById.put(episode.id(), episode);
+            }
+            if (!estimated && sample.size() < firstPageSize) {
+                sample.add(episode);
+            }
+            scheduler().add(episode);
+
+            if (episode.id() == selectedEpisodeId) {
+                scheduler.promote(episode, 
+                        EpisodeLoadScheduler.Priority.SELECTED);
+            }
+            if (!estimated && firstPageSize > 0 && 
+                    received >= firstPageSize) {
+                estimate();
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            if (cancelled) {
+                return;
+            }
+            if (scheduler == null) {
+                terminated = true;
+                updateStatus("Error cargando episodios: " + 
+                        throwable.getMessage());
+                completeLoading(false, 1);
+                return;
+            }
+            // Se sigue con los episodios ya recibidos; el error cuenta para
+            // no guardar una instantánea incompleta.
+            errorCount.incrementAndGet();
+            pageFailed = true;
+            updateStatus("Error cargando episodios: " + 
+                    throwable.getMessage() + ". Se continúa con " + 
+                    received + " episodios.");
+            onComplete();
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (cancelled) {
+                return;
+            }
+            terminated = true;
+            scheduler();
+
+            if (retain) {
+                episodes.sort(Comparator.comparingInt(Episode::id));
                 updateStatus("Episodios obtenidos: " + episodes.size() + 
                         ". Organizando por temporadas...");
+                loadedEpisodes = List.copyOf(episodes);
+                episodesInfo = info;
 
-                Map<String, List<Episode>> seasons = new HashMap<>();
-                
-                for (Episode episode : episodes) {
-                    String season = extractSeasonFromEpisode(episode.episode());
-                    seasonEpisodes.computeIfAbsent(season, k -> new ArrayList<>())
-                            .add(episode);
+                // Sin todas las páginas el ETag no vale: el siguiente
+                // refresco tiene que pedirlas.
+                if (!pageFailed) {
+                    episodesEtag = firstEtag;
                 }
-                if (onEpisodesLoaded != null) {
+                replaceSeasons(loadedEpisodes);
+
+                if (notifyEpisodes && onEpisodesLoaded != null) {
                     onEpisodesLoaded.accept(seasonEpisodes);
                 }
-                updateStatus("Episodios cargados. Iniciando carga de personajes...");
-                loadCharactersWithThreads(episodes);
-            })
-            .exceptionally(ex -> {
-                updateStatus("Error cargando episodios: " + ex.getMessage());
-                if (onLoadingComplete != null) {
-                    onLoadingComplete.accept(false);
+            }
+            // Página 1 incompleta o sin Info: se decide con lo recibido.
+            if (!estimated) {
+                if (sample.isEmpty() && retain) {
+                    sample.addAll(episodes);
                 }
-                return null;
-            });
+                estimate();
+            }
+            scheduler.seal();
+            int selected = selectedEpisodeId;
+            
+            if (selected > 0) {
+                promoteSelection(scheduler, selected);
+            }
+        }
+
+        // Si el catálogo falla se sigue por referencia: lo que sí llegó ya
+        // está en la caché.
+        private void syncCatalogThenStart() {
+            updateStatus("Descargando catálogo de personajes...");
+            apiService.syncCharacterCatalog(CATALOG_PAGES_AHEAD)
+                .whenComplete((count, ex) -> {
+                    if (ex != null) {
+                        updateStatus("Error descargando el catálogo de " + 
+                                "personajes, se resuelven por referencia: " + 
+                                ex.getMessage());
+                    } else {
+                        updateStatus("Catálogo de personajes descargado: " + 
+                                count + " personajes.");
+                    }
+                    startWorkers();
+                });
+        }
+    }
+
+    private void loadFromSnapshot(Snapshot snapshot) {
+        long start = System.nanoTime();
+        applySnapshot(snapshot);
+        
+        updateStatus("Datos locales cargados: " + snapshot.episodes().size() + 
+                " episodios en " + (System.nanoTime() - start) / 1_000_000 + 
+                " ms. Revalidando con la API...");
+        if (onEpisodesLoaded != null) {
+            onEpisodesLoaded.accept(seasonEpisodes);
+        }
+        refresh(false);
+    }
+
+    // Sustituye el estado en memoria por el de la instantánea, sin tocar la
+    // red.
+    void applySnapshot(Snapshot snapshot) {
+        replaceSeasons(snapshot.episodes());
+        episodeCharacterIds.clear();
+        characterIndex.clear();
+        coAppearances.clear();
+        episodeFutures.values().removeIf(CompletableFuture::isDone);
+        snapshot.episodes().forEach(e -> episodesById.put(e.id(), e));
+        snapshot.episodeCharacters().forEach(this::storeEpisodeCharacters);
+        loadedEpisodes = snapshot.episodes();
+        episodesEtag = snapshot.episodesEtag();
+        episodesInfo = infoOf(snapshot.episodes().size());
+    }
+
+    // La instantánea no guarda la Info: se deduce del número de episodios.
+    private static Info infoOf(int count) {
+        return new Info(count, (count + ApiService.EPISODE_PAGE_SIZE - 1) / 
+                ApiService.EPISODE_PAGE_SIZE, null, null);
+    }
+
+    // Las listas de cada temporada se crean de nuevo y nunca se modifican
+    // después: quien tenga una copia de getSeasonEpisodes() no ve cambios a
+    // medias y recargar no duplica episodios.
+    private void replaceSeasons(List<Episode> episodes) {
+        Map<String, List<Episode>> seasons = groupBySeason(episodes);
+        seasonEpisodes.putAll(seasons);
+        seasonEpisodes.keySet().retainAll(seasons.keySet());
     }
 
-    private void loadCharactersWithThreads(List<Episode> episodes) {
-        List<Thread> threads = new ArrayList<>();
-        AtomicInteger processedCount = new AtomicInteger(0);
-        AtomicInteger errorCount = new AtomicInteger(0);
-        int totalEpisodes = episodes.size();
+    static Map<String, List<Episode>> groupBySeason(List<Episode> episodes) {
+        Map<String, List<Episode>> seasons = new HashMap<>();
         
         for (Episode episode : episodes) {
-            Thread t = new Thread(() -> {
-                try {
-                    loadingSemaphore.acquire();
-                    
-                    int current = processedCount.incrementAndGet();
-                    updateStatus("Cargando personajes para episodio: " + 
-                            episode.name() + " (" + current + "/" + totalEpisodes + 
-                            ")");
-
-                    if (episode.characters() == null || episode.characters()
-                            .length == 0) {
-                        updateStatus("Episodio " + episode.name() + 
-                                " no tiene personajes");
-                        episodeCharacters.put(episode.id(), new ArrayList<>());
-                        return;
-                    }
-                    List<String> validUrls = new ArrayList<>();
-                    
-                    for (String url : episode.characters()) {
-                        
-                        if (url != null && !url.trim().isEmpty()) {
-                            validUrls.add(url.trim());
-                        }
-                    }
-                    
-                    if (validUrls.isEmpty()) {
-                        updateStatus("No hay URLs válidas para " + episode.name());
-                        episodeCharacters.put(episode.id(), new ArrayList<>());
-                        return;
-                    }
-                    apiService.getMultipleCharacters(validUrls)
-                        .thenAccept(characters -> {
-                            episodeCharacters.put(episode.id(), characters);
-                            updateStatus("Personajes cargados para episodio: " + 
-                                    episode.name() + " (" + characters.size() + 
-                                    " personajes)");
-                        })
-                        .exceptionally(ex -> {
-                            errorCount.incrementAndGet();
-                            updateStatus("Error cargando personajes para " + 
-                                    episode.name() + ": " + ex.getMessage());
-                            episodeCharacters.put(episode.id(), new ArrayList<>());
-                            return null;
-                        })
-                        .join();
-                    
-                    try {
-                        Thread.sleep(200);
-                    } catch (InterruptedException delayEx) {
-                        Thread.currentThread().interrupt();
-                    }
-                        
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    errorCount.incrementAndGet();
-                    updateStatus("Thread interrumpido para episodio: " + 
-                            episode.name());
-                    episodeCharacters.put(episode.id(), new ArrayList<>());
-                } catch (Exception ex) {
-                    errorCount.incrementAndGet();
-                    updateStatus("Error inesperado cargando personajes para " + 
-                            episode.name() + ": " + ex.getMessage());
-                    episodeCharacters.put(episode.id(), new ArrayList<>());
-                } finally {
-                    loadingSemaphore.release();
+            String season = extractSeasonFromEpisode(episode.episode());
+            seasons.computeIfAbsent(season, k -> new ArrayList<>()).add(episode);
+        }
+        return seasons;
+    }
+
+    public boolean hasEpisodes() {
+        return !loadedEpisodes.isEmpty();
+    }
+
+    // Refresco incremental. Pide la página 1 de episodios (condicional si
+    // hay ETag). Si llega entera y su Info (count, pages) coincide con la
+    // que se tiene, y trae los mismos ids que la página 1 guardada, el
+    // resto se da por igual; si no, se piden todas las demás, porque un
+    // alta o baja mueve episodios entre páginas. Los episodios se funden
+    // por id y solo se cargan los personajes de los nuevos o modificados,
+    // reutilizando los que ya están en la tabla. Sin cambios cuesta una
+    // sola petición, con ETag o sin él.
+    public void refresh() {
+        if (beginLoading()) {
+            refresh(true);
+        }
+    }
+
+    private boolean beginLoading() {
+        if (!loading.compareAndSet(false, true)) {
+            updateStatus("Ya hay una carga en curso.");
+            return false;
+        }
+        return true;
+    }
+
+    // Solo con la carga ya adquirida (beginLoading).
+    private void refresh(boolean notifyEpisodes) {
+        List<Episode> held = loadedEpisodes;
+        Info heldInfo = episodesInfo;
+
+        if (held.isEmpty()) {
+            loadFromApi(notifyEpisodes);
+            return;
+        }
+        updateStatus("Buscando cambios en la API...");
+        apiService.getEpisodesIfChanged(1, episodesEtag)
+            .thenCompose(first -> first.notModified() 
+                    ? CompletableFuture.completedFuture(
+                            new EpisodeDelta(first.etag(), heldInfo, null))
+                    : fetchDelta(first, held, heldInfo))
+            .whenComplete((delta, ex) -> {
+                if (ex != null) {
+                    updateStatus("No se pudo refrescar con la API, se " + 
+                            "mantienen los datos actuales: " + 
+                            ex.getMessage());
+                    completeLoading(true, 1);
+                    return;
                 }
+                applyDelta(delta, held, notifyEpisodes);
             });
-            
-            threads.add(t);
-            t.start();
+    }
+
+    // Todos los episodios recibidos en un refresco: los que falten ya no
+    // existen.
+    private record EpisodeDelta(String etag, Info info, 
+            List<Episode> episodes) {}
+
+    private CompletableFuture<EpisodeDelta> fetchDelta(
+            ConditionalPage<Episode> first, List<Episode> held, 
+            Info heldInfo) {
+        PaginatedResponse<Episode> page = first.page();
+        Info info = page.info();
+        List<Episode> episodes = new ArrayList<>(List.of(page.results()));
+
+        if (sameLayout(info, heldInfo, held) && 
+                samePageIds(episodes, held)) {
+            episodes.addAll(held.subList(episodes.size(), held.size()));
+            return CompletableFuture.completedFuture(
+                    new EpisodeDelta(first.etag(), info, episodes));
+        }
+        List<CompletableFuture<PaginatedResponse<Episode>>> futures = 
+                new ArrayList<>();
+        
+        for (int number = 2; number <= info.pages(); number++) {
+            futures.add(apiService.getEpisodes(number));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> {
+                for (CompletableFuture<PaginatedResponse<Episode>> future : 
+                        futures) {
+                    episodes.addAll(List.of(future.join().results()));
+                }
+                return new EpisodeDelta(first.etag(), info, episodes);
+            });
+    }
+
+    // held.size() también cuenta: tras una carga con páginas perdidas la
+    // Info coincide pero faltan episodios.
+    private static boolean sameLayout(Info info, Info heldInfo, 
+            List<Episode> held) {
+        return info != null && heldInfo != null && 
+                info.count() == heldInfo.count() && 
+                info.pages() == heldInfo.pages() && 
+                held.size() == info.count();
+    }
+
+    // loadedEpisodes está ordenada por id, como las páginas de la API.
+    private static boolean samePageIds(List<Episode> page, 
+            List<Episode> held) {
+        if (page.size() > held.size()) {
+            return false;
+        }
+        for (int i = 0; i < page.size(); i++) {
+            if (page.get(i).id() != held.get(i).id()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyDelta(EpisodeDelta delta, List<Episode> held, 
+            boolean notifyEpisodes) {
+        Map<Integer, Episode> merged = new TreeMap<>();
+        held.forEach(episode -> merged.put(episode.id(), episode));
+        List<Episode> changed = new ArrayList<>();
+        Set<Integer> affected = new HashSet<>();
+        
+        // episodes() es null si la API respondió 304. Los que no cambian
+        // conservan su instancia: las vistas los reconocen y mantienen la
+        // selección.
+        if (delta.episodes() != null) {
+            Set<Integer> received = new HashSet<>();
+
+            for (Episode episode : delta.episodes()) {
+                received.add(episode.id());
+                Episode previous = merged.get(episode.id());
+                
+                if (previous == null || !sameEpisode(previous, episode)) {
+                    merged.put(episode.id(), episode);
+                    changed.add(episode);
+                    affected.add(episode.id());
+                }
+            }
+            for (Episode episode : held) {
+                if (!received.contains(episode.id())) {
+                    merged.remove(episode.id());
+                    episodesById.remove(episode.id());
+                    affected.add(episode.id());
+                }
+            }
+        }
+        int removed = affected.size() - changed.size();
+        String previousEtag = episodesEtag;
+        episodesEtag = delta.etag();
+        episodesInfo = delta.info();
+
+        if (changed.isEmpty() && removed == 0) {
+            if (notifyEpisodes && onEpisodesLoaded != null) {
+                onEpisodesLoaded.accept(seasonEpisodes);
+            }
+            if (delta.etag() != null && retainResults && 
+                    !delta.etag().equals(previousEtag)) {
+                saveSnapshot(new Snapshot(System.currentTimeMillis(), 
+                        held.size(), delta.etag(), held, 
+                        episodeCharactersView()));
+            }
+            updateStatus("Datos al día (" + held.size() + " episodios).");
+            completeLoading(true, 0);
+            return;
+        }
+        // Los modificados se vuelven a indexar al cargar sus personajes.
+        affected.forEach(this::unindexEpisode);
+        changed.forEach(episode -> episodesById.put(episode.id(), episode));
+        loadedEpisodes = List.copyOf(merged.values());
+        replaceSeasons(loadedEpisodes);
+        updateStatus("Cambios en la API: " + changed.size() + 
+                " episodios nuevos o modificados, " + removed + 
+                " eliminados. Cargando sus personajes...");
+
+        if (notifyEpisodes && onEpisodesLoaded != null) {
+            onEpisodesLoaded.accept(seasonEpisodes);
+        }
+        Set<Integer> changedIds = Set.copyOf(affected);
+        episodesChangedListeners.forEach(
+                listener -> listener.accept(changedIds));
+        progressBus.publish(new ProgressEvent.LoadStarted(changed.size()));
+        characterLoadPlan = null;
+        AtomicInteger errorCount = new AtomicInteger();
+        EpisodeLoadScheduler scheduler = newCharacterScheduler(errorCount, 
+                true);
+        changed.forEach(scheduler::add);
+        scheduler.seal();
+        scheduler.start();
+        int selected = selectedEpisodeId;
+        
+        if (selected > 0) {
+            promoteSelection(scheduler, selected);
+        }
+    }
+
+    // Quita el episodio de los índices y olvida sus personajes; los que
+    // esperen por él reciben los que se carguen ahora.
+    private void unindexEpisode(int episodeId) {
+        int[] ids = episodeCharacterIds.remove(episodeId);
+
+        if (ids != null) {
+            characterIndex.removeEpisode(episodeId, ids);
+        }
+        coAppearances.removeEpisode(episodeId);
+        episodeFutures.computeIfPresent(episodeId, 
+                (id, future) -> future.isDone() ? null : future);
+    }
+
+    // Episode.characters es un array: el equals del record compara
+    // referencias.
+    private static boolean sameEpisode(Episode a, Episode b) {
+        return a.id() == b.id() && Objects.equals(a.name(), b.name()) && 
+                Objects.equals(a.air_date(), b.air_date()) && 
+                Objects.equals(a.episode(), b.episode()) && 
+                Arrays.equals(a.characters(), b.characters());
+    }
+
+    // Refresca en segundo plano cada interval; los refrescos que coinciden
+    // con una carga en curso se saltan. Llamarlo otra vez cambia el
+    // intervalo.
+    public synchronized void startPeriodicRefresh(Duration interval) {
+        stopPeriodicRefresh();
+
+        if (refreshScheduler == null) {
+            refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+                    r -> {
+                        Thread thread = new Thread(r, "episode-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
         }
+        long millis = interval.toMillis();
+        periodicRefresh = refreshScheduler.scheduleWithFixedDelay(() -> {
+            if (loading.compareAndSet(false, true)) {
+                refresh(false);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopPeriodicRefresh() {
+        if (periodicRefresh != null) {
+            periodicRefresh.cancel(false);
+            periodicRefresh = null;
+        }
+    }
+
+    // Optional.empty() si la propiedad no está o no es un número positivo.
+    public static Optional<Duration> refreshIntervalFromSystemProperty() {
+        long seconds = Long.getLong(REFRESH_PROPERTY, 0L);
+        return seconds > 0 
+                ? Optional.of(Duration.ofSeconds(seconds)) : Optional.empty();
+    }
+
+    private void saveSnapshot(Snapshot snapshot) {
+        if (!snapshotEnabled) {
+            return;
+        }
+        try {
+            snapshotStore.save(snapshot);
+        } catch (IOException ex) {
+            System.err.println("Error saving snapshot to " + 
+                    snapshotStore.file() + ": " + ex.getMessage());
+        }
+    }
 
-        Thread completionThread = new Thread(() -> {
+    // Los episodios se cargan por orden de prioridad: el seleccionado en la
+    // vista primero, luego el que está bajo el ratón, después sus vecinos de
+    // temporada y por último el resto en segundo plano.
+    // Con reuseKnown los personajes que ya están en la tabla no se piden.
+    private EpisodeLoadScheduler newCharacterScheduler(
+            AtomicInteger errorCount, boolean reuseKnown) {
+        EpisodeLoadScheduler scheduler = new EpisodeLoadScheduler(
+                executionMode, episodeParallelism,
+                (episode, priority) -> loadEpisodeCharacters(episode, 
+                        priority, errorCount, reuseKnown),
+                (skipped, cancelled) -> {
+                    loadScheduler = null;
+                    finishLoading(errorCount.get() + skipped, cancelled);
+                }, loadMetrics);
+        
+        loadScheduler = scheduler;
+        return scheduler;
+    }
+
+    private long characterRequests() {
+        Map<Endpoint, HistogramSnapshot> latency = 
+                apiService.getHttpMetrics().latencyByEndpoint();
+        return latency.get(Endpoint.CHARACTER).count() + 
+                latency.get(Endpoint.CHARACTERS).count() + 
+                latency.get(Endpoint.CHARACTER_PAGES).count();
+    }
+
+    private void loadEpisodeCharacters(Episode episode, 
+            RequestPriority priority, AtomicInteger errorCount, 
+            boolean reuseKnown) {
+        long start = System.nanoTime();
+        
+        try {
+            progressBus.publish(new ProgressEvent.EpisodeStarted(episode.id(), 
+                    episode.name()));
+
+            if (episode.characters() == null || episode.characters()
+                    .length == 0) {
+                episodeLoaded(episode, List.of());
+                return;
+            }
+            List<String> validUrls = new ArrayList<>();
             
-            for (Thread t : threads) {
+            for (String url : episode.characters()) {
                 
-                try {
-                    t.join();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    updateStatus("Interrupción durante espera de threads");
-                    break;
+                if (url != null && !url.trim().isEmpty()) {
+                    validUrls.add(url.trim());
                 }
             }
-            int errors = errorCount.get();
-            int successful = episodeCharacters.size();
             
-            if (errors > 0) {
-                updateStatus("Carga completa con errores. Episodios procesados: " + 
-                        successful + ", Errores: " + errors);
-            } else {
-                updateStatus("Carga completa exitosa. " + successful + 
-                        " episodios con personajes cargados.");
+            if (validUrls.isEmpty()) {
+                episodeLoaded(episode, List.of());
+                return;
             }
-            if (onLoadingComplete != null) {
-                onLoadingComplete.accept(true);
+            List<Charac> known = reuseKnown 
+                    ? takeKnownCharacters(validUrls) : List.of();
+
+            if (validUrls.isEmpty()) {
+                episodeLoaded(episode, known);
+                return;
+            }
+            apiService.getMultipleCharacters(validUrls, priority)
+                .thenApply(characters -> {
+                    if (known.isEmpty()) {
+                        return characters;
+                    }
+                    List<Charac> all = new ArrayList<>(known);
+                    all.addAll(characters);
+                    return all;
+                })
+                .thenAccept(characters -> {
+                    // Se muestran, pero el episodio cuenta como error para
+                    // no guardar la instantánea con datos provisionales.
+                    if (characters.stream().anyMatch(
+                            ApiService::isPlaceholder)) {
+                        errorCount.incrementAndGet();
+                        updateStatus("La API no responde: " + episode.name() + 
+                                " se muestra con personajes provisionales");
+                    }
+                    episodeLoaded(episode, characters);
+                })
+                .exceptionally(ex -> {
+                    errorCount.incrementAndGet();
+                    storeEpisodeCharacters(episode.id(), List.of());
+                    episodeFailed(episode, ex.getMessage());
+                    return null;
+                })
+                .get();
+                
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            errorCount.incrementAndGet();
+            // Como en los demás fallos: quien espere por el episodio recibe
+            // la lista vacía en lugar de quedarse colgado.
+            storeEpisodeCharacters(episode.id(), List.of());
+            episodeFailed(episode, "hilo interrumpido");
+        } catch (Exception ex) {
+            errorCount.incrementAndGet();
+            storeEpisodeCharacters(episode.id(), List.of());
+            episodeFailed(episode, ex.getMessage());
+        } finally {
+            loadMetrics.recordEpisodeLoad(System.nanoTime() - start);
+        }
+    }
+
+    // Quita de urls los personajes que ya están en la tabla (salvo los
+    // provisionales) y los devuelve.
+    private List<Charac> takeKnownCharacters(List<String> urls) {
+        List<Charac> known = new ArrayList<>();
+        
+        urls.removeIf(url -> {
+            int id = ResourceIds.parse(url);
+            Charac character = id > 0 && !placeholderIds.contains(id) 
+                    ? characterTable.get(id) : null;
+            
+            if (character != null) {
+                known.add(character);
             }
+            return character != null;
         });
-        completionThread.start();
+        return known;
+    }
+
+    private void episodeLoaded(Episode episode, List<Charac> characters) {
+        storeEpisodeCharacters(episode.id(), characters);
+        BiConsumer<Episode, List<Charac>> listener = onEpisodeCharactersLoaded;
+        
+        if (listener != null) {
+            listener.accept(episode, characters);
+        }
+        progressBus.publish(new ProgressEvent.EpisodeFinished(episode.id(), 
+                episode.name(), characters.size()));
+    }
+
+    private void episodeFailed(Episode episode, String error) {
+        progressBus.publish(new ProgressEvent.EpisodeFailed(episode.id(), 
+                episode.name(), error));
+    }
+
+    // Llamado desde la vista al seleccionar un episodio: adelanta su carga y
+    // la de sus vecinos de temporada, y mide cuánto tarda en tener
+    // personajes.
+    public void selectEpisode(int episodeId) {
+        selectedEpisodeId = episodeId;
+        long start = System.nanoTime();
+        CompletableFuture<List<Charac>> characters = 
+                episodeFutures.computeIfAbsent(episodeId, 
+                        k -> new CompletableFuture<>());
+        
+        // Solo cuenta la espera real: un episodio ya cargado no es una
+        // muestra de 0 ms.
+        if (!characters.isDone()) {
+            characters.thenRun(() -> 
+                    recordTimeToCharacters(System.nanoTime() - start));
+        }
+        
+        EpisodeLoadScheduler scheduler = loadScheduler;
+        
+        if (scheduler != null) {
+            promoteSelection(scheduler, episodeId);
+        }
+    }
+
+    // Llamado al pasar el ratón sobre un episodio.
+    public void hintEpisode(int episodeId) {
+        EpisodeLoadScheduler scheduler = loadScheduler;
+        Episode episode = episodesById.get(episodeId);
+        
+        if (scheduler != null && episode != null) {
+            scheduler.promote(episode, EpisodeLoadScheduler.Priority.HOVERED);
+        }
+    }
+
+    private void promoteSelection(EpisodeLoadScheduler scheduler, 
+            int episodeId) {
+        Episode episode = episodesById.get(episodeId);
+        
+        if (episode == null) {
+            return;
+        }
+        scheduler.promote(episode, EpisodeLoadScheduler.Priority.SELECTED);
+        List<Episode> season = seasonEpisodes.get(
+                extractSeasonFromEpisode(episode.episode()));
+        
+        if (season == null) {
+            return;
+        }
+        int index = season.indexOf(episode);
+        
+        for (int distance = 1; distance < season.size(); distance++) {
+            if (index + distance < season.size()) {
+                scheduler.promote(season.get(index + distance), 
+                        EpisodeLoadScheduler.Priority.NEIGHBOR);
+            }
+            if (index - distance >= 0) {
+                scheduler.promote(season.get(index - distance), 
+                        EpisodeLoadScheduler.Priority.NEIGHBOR);
+            }
+        }
     }
 
-    private String extractSeasonFromEpisode(String episodeCode) {
+    private synchronized void recordTimeToCharacters(long nanos) {
+        timeToCharacters = timeToCharacters.record(nanos);
+    }
+
+    // Los personajes se guardan una sola vez en la CharacterTable y cada
+    // episodio solo conserva los ids.
+    private void storeEpisodeCharacters(int episodeId, List<Charac> characters) {
+        if (!retainResults) {
+            CompletableFuture<List<Charac>> waiting = 
+                    episodeFutures.remove(episodeId);
+            
+            if (waiting != null) {
+                waiting.complete(characters);
+            }
+            return;
+        }
+        int[] ids = new int[characters.size()];
+        int count = 0;
+        
+        for (Charac character : characters) {
+            if (character != null && character.id() > 0) {
+                // Un provisional nunca sustituye a datos reales.
+                if (ApiService.isPlaceholder(character)) {
+                    if (!characterTable.contains(character.id())) {
+                        placeholderIds.add(character.id());
+                        characterTable.add(character);
+                    }
+                    ids[count++] = character.id();
+                    continue;
+                }
+                // Charac.episode() ya trae todos sus episodios: la matriz
+                // los conoce antes de que esos episodios se carguen.
+                if (!characterTable.contains(character.id()) || 
+                        placeholderIds.remove(character.id())) {
+                    coAppearances.addCharacter(character.id(), 
+                            episodeIdsOf(character));
+                }
+                characterTable.add(character);
+                ids[count++] = character.id();
+            }
+        }
+        int[] stored = count == ids.length ? ids : Arrays.copyOf(ids, count);
+        episodeCharacterIds.put(episodeId, stored);
+        characterIndex.indexEpisode(episodeId, stored);
+        coAppearances.addEpisode(episodeId, stored);
+        
+        List<Charac> view = characterTable.viewOf(stored);
+        CompletableFuture<List<Charac>> future = episodeFutures.computeIfAbsent(
+                episodeId, k -> new CompletableFuture<>());
+        
+        if (!future.complete(view)) {
+            episodeFutures.put(episodeId, CompletableFuture.completedFuture(view));
+        }
+    }
+
+    private static int[] episodeIdsOf(Charac character) {
+        if (character.episode() == null) {
+            return new int[0];
+        }
+        int[] ids = new int[character.episode().length];
+        int count = 0;
+        
+        for (String url : character.episode()) {
+            int id = ResourceIds.parse(url);
+            
+            if (id > 0) {
+                ids[count++] = id;
+            }
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    private Map<Integer, List<Charac>> episodeCharactersView() {
+        Map<Integer, List<Charac>> view = new HashMap<>();
+        episodeCharacterIds.forEach((episodeId, ids) -> 
+                view.put(episodeId, characterTable.viewOf(ids)));
+        return view;
+    }
+
+    // Una carga cancelada termina con success false y sin instantánea.
+    private void finishLoading(int errors, boolean cancelled) {
+        int successful = retainResults 
+                ? episodeCharacterIds.size() 
+                : (int) loadMetrics.episodeLoad().count() - errors;
+        
+        if (cancelled) {
+            updateStatus("Carga cancelada. Episodios procesados: " + 
+                    successful + ", sin cargar o con errores: " + errors);
+        } else if (errors > 0) {
+            updateStatus("Carga completa con errores. Episodios procesados: " + 
+                    successful + ", Errores: " + errors);
+        } else {
+            updateStatus("Carga completa exitosa. " + successful + 
+                    " episodios con personajes cargados.");
+        }
+        updateStatus("Caché de personajes: " + 
+                apiService.getCharacterCacheStats());
+        updateStatus("Control de peticiones: " + 
+                apiService.getGovernorStats());
+        updateStatus("Latencia de peticiones: " + 
+                apiService.getRequestLatencyStats());
+        updateStatus("Peticiones duplicadas y circuito: " + 
+                apiService.getResilienceStats());
+        updateStatus("Carga por episodio: " + loadMetrics.episodeLoad() + 
+                "; espera en cola: " + loadMetrics.queueWait());
+        updateStatus("Tiempo hasta personajes: " + getTimeToCharactersStats());
+        CharacterLoadPlan plan = characterLoadPlan;
+        
+        if (plan != null) {
+            updateStatus("Peticiones de personajes: " + (characterRequests() - 
+                    characterRequestsBaseline) + " (estimadas " + 
+                    plan.estimatedRequests() + ")");
+        }
+        
+        if (errors == 0 && retainResults && !cancelled) {
+            saveSnapshot(new Snapshot(System.currentTimeMillis(), 
+                    loadedEpisodes.size(), episodesEtag, loadedEpisodes, 
+                    episodeCharactersView()));
+        }
+        completeLoading(!cancelled, errors);
+    }
+
+    private void completeLoading(boolean success, int errors) {
+        loading.set(false);
+        progressBus.publish(new ProgressEvent.LoadFinished(success, errors));
+        
+        if (onLoadingComplete != null) {
+            onLoadingComplete.accept(success);
+        }
+    }
+
+    public void cancelLoading() {
+        EpisodeStream stream = episodeStream;
+
+        if (stream != null) {
+            stream.cancel();
+        }
+        EpisodeLoadScheduler scheduler = loadScheduler;
+        
+        if (scheduler != null) {
+            scheduler.cancel();
+        }
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            stopPeriodicRefresh();
+
+            if (refreshScheduler != null) {
+                refreshScheduler.shutdownNow();
+            }
+        }
+        cancelLoading();
+        metricsBean.unregister();
+        progressBus.shutdown();
+        apiService.close();
+    }
+
+    static String extractSeasonFromEpisode(String episodeCode) {
         if (episodeCode != null && episodeCode.length() >= 3) {
             return episodeCode.substring(0, 3);
         }
@@ -188,10 +1136,7 @@ public class RickAndMortyViewModel {
     }
     
     private void updateStatus(String status) {
-        System.out.println("Status: " + status);
-        if (onStatusUpdate != null) {
-            onStatusUpdate.accept(status);
-        }
+        progressBus.publish(new ProgressEvent.Status(status));
     }
     
     public Map<String, List<Episode>> getSeasonEpisodes() {
@@ -199,7 +1144,98 @@ public class RickAndMortyViewModel {
     }
     
     public List<Charac> getEpisodeCharacters(int episodeId) {
-        return episodeCharacters.getOrDefault(episodeId, new ArrayList<>());
+        int[] ids = episodeCharacterIds.get(episodeId);
+        return ids != null ? characterTable.viewOf(ids) : new ArrayList<>();
+    }
+    
+    // Se completa en cuanto los personajes de ese episodio están resueltos
+    // (al instante si ya lo estaban).
+    public CompletableFuture<List<Charac>> whenEpisodeCharactersLoaded(
+            int episodeId) {
+        return episodeFutures.computeIfAbsent(episodeId, 
+                k -> new CompletableFuture<>()).copy();
+    }
+
+    public List<Charac> findCharactersByName(String prefix) {
+        return characterIndex.findByNamePrefix(prefix);
+    }
+
+    // null en cualquier filtro equivale a "cualquier valor".
+    public List<Charac> findCharacters(String status, String species, 
+            String gender) {
+        return characterIndex.findByFacets(status, species, gender);
+    }
+
+    public int[] getEpisodeIdsForCharacter(int characterId) {
+        return characterIndex.episodeIdsFor(characterId);
+    }
+
+    public List<Episode> getEpisodesForCharacter(int characterId) {
+        int[] ids = characterIndex.episodeIdsFor(characterId);
+        List<Episode> episodes = new ArrayList<>(ids.length);
+        
+        for (int id : ids) {
+            Episode episode = episodesById.get(id);
+            
+            if (episode != null) {
+                episodes.add(episode);
+            }
+        }
+        return episodes;
+    }
+    
+    public CoAppearanceMatrix getCoAppearances() {
+        return coAppearances;
+    }
+
+    public List<CoAppearance> findTopCoStars(int characterId, int k) {
+        return coAppearances.topCoStars(characterId, k);
+    }
+
+    public List<Episode> findSharedEpisodes(int characterId, int otherId) {
+        int[] ids = coAppearances.sharedEpisodes(characterId, otherId);
+        List<Episode> episodes = new ArrayList<>(ids.length);
+        
+        for (int id : ids) {
+            Episode episode = episodesById.get(id);
+            
+            if (episode != null) {
+                episodes.add(episode);
+            }
+        }
+        return episodes;
+    }
+    
+    public CacheStats getCharacterCacheStats() {
+        return apiService.getCharacterCacheStats();
+    }
+    
+    public GovernorStats getGovernorStats() {
+        return apiService.getGovernorStats();
+    }
+    
+    public ResilienceStats getResilienceStats() {
+        return apiService.getResilienceStats();
+    }
+    
+    public MetricsSnapshot getMetricsSnapshot() {
+        HttpMetrics http = apiService.getHttpMetrics();
+        CacheStats cache = apiService.getCharacterCacheStats();
+        ResilienceStats resilience = apiService.getResilienceStats();
+        return new MetricsSnapshot(http.latencyByEndpoint(), 
+                http.inFlightByEndpoint(), http.governorWait(), 
+                apiService.getRetryCount(), http.throttled(), 
+                http.serverErrors(), http.transportErrors(), 
+                http.parseFailures(), http.wireBytes(), http.decodedBytes(), 
+                http.http2Responses(), resilience.hedges(), 
+                resilience.hedgeWins(), resilience.circuitState().name(), 
+                resilience.circuitRejections(), cache.hits(), cache.misses(), 
+                cache.coalesced(), loadMetrics.queueWait(), 
+                loadMetrics.episodeLoad());
+    }
+    
+    public synchronized TimeToCharactersStats getTimeToCharactersStats() {
+        return timeToCharacters;
     }
     
     public String getAppInfo() {
@@ -209,9 +1245,10 @@ public class RickAndMortyViewModel {
             Desarrollada usando:
             - Java HttpClient para peticiones API
             - Jackson para mapeo JSON
-            - Hilos manuales para carga concurrente
+            - Hilos manuales o hilos virtuales para carga concurrente
             - ConcurrentHashMap para almacenamiento thread-safe
-            - Semáforos para control de concurrencia
+            - Cola de prioridad para cargar antes el episodio seleccionado
+            - Limitador adaptativo de peticiones (token bucket + AIMD)
             - Patrón MVVM para separación de responsabilidades
             - Records para mapeo de datos
             - Swing para interfaces gráficas
@@ -226,6 +1263,8 @@ public class RickAndMortyViewModel {
             - Manejo robusto de errores
             - Logging de errores mejorado
             - Control de concurrencia optimizado
+            - Instantánea local para arranques instantáneos
+            - Caché de personajes compartida entre episodios
             """;
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package aog.rickymortyapp.viewModel;
+
+// Tiempo desde que el usuario selecciona un episodio hasta que sus
+// personajes están disponibles. Solo cuentan las selecciones que tuvieron
+// que esperar.
+public record TimeToCharactersStats(
+    long count,
+    long lastNanos,
+    long maxNanos,
+    long totalNanos
+) {
+    public static final TimeToCharactersStats EMPTY = 
+            new TimeToCharactersStats(0, 0, 0, 0);
+
+    public TimeToCharactersStats record(long nanos) {
+        return new TimeToCharactersStats(count + 1, nanos, 
+                Math.max(maxNanos, nanos), totalNanos + nanos);
+    }
+
+    public long averageNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("selecciones=%d, último=%d ms, medio=%d ms, " +
+                "máximo=%d ms", count, lastNanos / 1_000_000, 
+                averageNanos() / 1_000_000, maxNanos / 1_000_000);
+    }
+}
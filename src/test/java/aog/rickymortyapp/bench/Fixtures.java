@@ -0,0 +1,38 @@
+package aog.rickymortyapp.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+// Respuestas JSON de la API guardadas en src/test/resources/fixtures, para
+// que los tests y los benchmarks no dependan de la red.
+public final class Fixtures {
+    public static final int EPISODE_PAGES = 3;
+
+    private Fixtures() {
+    }
+
+    public static byte[] episodePage(int page) {
+        return read("episode-page-" + page + ".json");
+    }
+
+    public static byte[] character() {
+        return read("character-1.json");
+    }
+
+    public static byte[] characters() {
+        return read("characters.json");
+    }
+
+    public static byte[] read(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream(
+                "/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
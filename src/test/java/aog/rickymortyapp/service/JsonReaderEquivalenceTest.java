@@ -0,0 +1,229 @@
+package aog.rickymortyapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import aog.rickymortyapp.bench.Fixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+// Los lectores generados tienen que decodificar las fixtures igual que el
+// ObjectReader de Jackson, por String y desde un InputStream que entrega el
+// cuerpo en fragmentos pequeños, y también variantes de ellas: campos
+// desconocidos (escalares, objetos y arrays anidados), campos en orden
+// inverso, nulls, números como texto y un objeto suelto donde se espera un
+// array. Ninguna lectura puede caer al respaldo, porque entonces se
+// compararía Jackson consigo mismo.
+class JsonReaderEquivalenceTest {
+    private static final int CHUNK_SIZE = 7;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger fallbacks = new AtomicInteger();
+    private final ModelReaders generated = new ModelReaders(
+            objectMapper, () -> true, fallbacks::incrementAndGet);
+    private final ModelReaders databind = new ModelReaders(
+            objectMapper, () -> false, () -> { });
+
+    private record Fixture<T>(String name, byte[] body,
+            Function<ModelReaders, ResponseReader<T>> reader) {}
+
+    @TestFactory
+    Stream<DynamicTest> generatedReadersMatchObjectReader() throws IOException {
+        List<Fixture<?>> fixtures = new ArrayList<>();
+
+        for (int page = 1; page <= Fixtures.EPISODE_PAGES; page++) {
+            fixtures.add(new Fixture<>("episode-page-" + page,
+                    Fixtures.episodePage(page), 
+                    readers -> readers.episodePage));
+        }
+        fixtures.add(new Fixture<>("character", Fixtures.character(),
+                readers -> readers.character));
+        fixtures.add(new Fixture<>("characters", Fixtures.characters(),
+                readers -> readers.characterArray));
+        fixtures.add(new Fixture<>("single-character-as-array",
+                Fixtures.character(), readers -> readers.characterArray));
+        fixtures.add(new Fixture<>("character-page",
+                objectMapper.writeValueAsBytes(characterPage(
+                        objectMapper.readTree(Fixtures.characters()))),
+                readers -> readers.characterPage));
+
+        Map<String, UnaryOperator<JsonNode>> variants = new LinkedHashMap<>();
+        variants.put("", node -> node);
+        variants.put("+unknown", node -> withUnknownFields(node.deepCopy()));
+        variants.put("+reversed", this::reversed);
+        variants.put("+nulls", node -> withNulls(node.deepCopy()));
+        variants.put("+numbers-as-text", 
+                node -> withNumbersAsText(node.deepCopy()));
+        List<DynamicTest> tests = new ArrayList<>();
+
+        for (Fixture<?> fixture : fixtures) {
+            JsonNode tree = objectMapper.readTree(fixture.body());
+
+            for (Map.Entry<String, UnaryOperator<JsonNode>> variant :
+                    variants.entrySet()) {
+                String body = objectMapper.writeValueAsString(
+                        variant.getValue().apply(tree));
+                String name = fixture.name() + variant.getKey();
+                tests.add(DynamicTest.dynamicTest(name + " (string)",
+                        () -> compareFromString(fixture, body)));
+                tests.add(DynamicTest.dynamicTest(name + " (stream)",
+                        () -> compareFromStream(fixture, body)));
+            }
+        }
+        return tests.stream();
+    }
+
+    private <T> void compareFromString(Fixture<T> fixture, String body)
+            throws IOException {
+        int before = fallbacks.get();
+        JsonNode actual = objectMapper.valueToTree(
+                fixture.reader().apply(generated).read(body));
+
+        assertEquals(expected(fixture, body), actual);
+        assertEquals(before, fallbacks.get(), "generated reader fell back");
+    }
+
+    private <T> void compareFromStream(Fixture<T> fixture, String body)
+            throws IOException {
+        JsonNode actual = objectMapper.valueToTree(
+                fixture.reader().apply(generated).read(new ChunkedInputStream(
+                        body.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(expected(fixture, body), actual);
+    }
+
+    private <T> JsonNode expected(Fixture<T> fixture, String body)
+            throws IOException {
+        return objectMapper.valueToTree(
+                fixture.reader().apply(databind).read(body));
+    }
+
+    // Misma forma que las páginas de /character de la API.
+    private JsonNode characterPage(JsonNode characters) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode info = root.putObject("info");
+        info.put("count", characters.size());
+        info.put("pages", 1);
+        info.putNull("next");
+        info.putNull("prev");
+        root.set("results", characters.deepCopy());
+        return root;
+    }
+
+    private static JsonNode withUnknownFields(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            for (JsonNode child : object) {
+                withUnknownFields(child);
+            }
+            object.put("unknownText", "x");
+            object.put("unknownNumber", 1.5);
+            object.putObject("unknownObject").putArray("nested")
+                    .add(1).addObject().put("deep", true);
+            object.putArray("unknownArray").add("a").addArray().add(2);
+        } else if (node instanceof ArrayNode array) {
+            for (JsonNode child : array) {
+                withUnknownFields(child);
+            }
+        }
+        return node;
+    }
+
+    private JsonNode reversed(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            ObjectNode copy = objectMapper.createObjectNode();
+
+            for (int i = names.size() - 1; i >= 0; i--) {
+                copy.set(names.get(i), reversed(object.get(names.get(i))));
+            }
+            return copy;
+        }
+        if (node instanceof ArrayNode array) {
+            ArrayNode copy = objectMapper.createArrayNode();
+
+            for (JsonNode child : array) {
+                copy.add(reversed(child));
+            }
+            return copy;
+        }
+        return node;
+    }
+
+    // Pone a null los escalares de cada objeto salvo los de primer nivel,
+    // y también un elemento de cada array de texto.
+    private static JsonNode withNulls(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields =
+                    object.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+
+                if (field.getValue().isValueNode()) {
+                    field.setValue(object.nullNode());
+                } else {
+                    withNulls(field.getValue());
+                }
+            }
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                if (array.get(i).isTextual()) {
+                    array.setNull(i);
+                    break;
+                }
+                withNulls(array.get(i));
+            }
+        }
+        return node;
+    }
+
+    private static JsonNode withNumbersAsText(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields =
+                    object.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+
+                if (field.getValue().isNumber()) {
+                    field.setValue(new TextNode(field.getValue().asText()));
+                } else {
+                    withNumbersAsText(field.getValue());
+                }
+            }
+        } else if (node instanceof ArrayNode array) {
+            for (JsonNode child : array) {
+                withNumbersAsText(child);
+            }
+        }
+        return node;
+    }
+
+    // Como el InputStream de HttpClient: cada read() devuelve como mucho
+    // CHUNK_SIZE bytes, así que los tokens quedan partidos entre lecturas.
+    private static final class ChunkedInputStream extends FilterInputStream {
+        ChunkedInputStream(byte[] body) {
+            super(new ByteArrayInputStream(body));
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length)
+                throws IOException {
+            return super.read(buffer, offset, Math.min(length, CHUNK_SIZE));
+        }
+    }
+}